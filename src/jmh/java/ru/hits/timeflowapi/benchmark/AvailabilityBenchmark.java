@@ -0,0 +1,170 @@
+package ru.hits.timeflowapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.hits.timeflowapi.dto.classroom.ClassroomDto;
+import ru.hits.timeflowapi.entity.ClassroomEntity;
+import ru.hits.timeflowapi.mapper.ClassroomMapper;
+import ru.hits.timeflowapi.mapper.TeacherMapper;
+import ru.hits.timeflowapi.mapper.TimeslotMapper;
+import ru.hits.timeflowapi.repository.ClassroomRepository;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.StudentGroupRepository;
+import ru.hits.timeflowapi.repository.TeacherRepository;
+import ru.hits.timeflowapi.repository.TimeslotRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.service.AvailableComponentsService;
+import ru.hits.timeflowapi.service.helpingservices.LessonOccupancyIndex;
+import ru.hits.timeflowapi.service.helpingservices.VerificationOfDates;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Бенчмарки получения свободных аудиторий при росте их количества от 50 до 5000. В таймслоте занята
+ * половина аудиторий. Вместо БД используются репозитории, которые отдают заранее сгенерированные данные
+ * (количество пар в таймслоте посчитано заранее, как его посчитала бы БД по индексу) и считают обращения
+ * к себе: при подготовке проверяется, что на один запрос приходится одно и то же количество запросов
+ * к БД при любом количестве аудиторий.
+ * <p>
+ * {@code busyClassroomIds} - поиск занятых аудиторий в {@link LessonOccupancyIndex}, его время не должно
+ * зависеть от количества аудиторий. {@code availableClassrooms} - весь запрос с разностью множеств
+ * и преобразованием в DTO: его время растёт только за счёт копирования и маппинга списка аудиторий,
+ * которые есть в ответе при любом способе получения занятости.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AvailabilityBenchmark {
+
+    /**
+     * Запросы к БД на одну проверку свободных аудиторий: список аудиторий и сверка количества пар в таймслоте.
+     */
+    private static final int QUERIES_PER_REQUEST = 2;
+
+    @Param({"50", "500", "5000"})
+    private int classroomCount;
+
+    private AvailableComponentsService availableComponentsService;
+
+    private LessonOccupancyIndex lessonOccupancyIndex;
+
+    private LocalDate date;
+
+    private UUID timeslotId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<ClassroomEntity> classrooms = new ArrayList<>(classroomCount);
+        List<LessonSlot> slots = new ArrayList<>();
+
+        date = BenchmarkData.MONDAY;
+        timeslotId = BenchmarkData.timeslots(random).get(2).getId();
+
+        for (int i = 0; i < classroomCount; i++) {
+            ClassroomEntity classroom = ClassroomEntity.builder()
+                    .id(BenchmarkData.uuid(random))
+                    .number(String.valueOf(100 + i))
+                    .build();
+            classrooms.add(classroom);
+
+            if (i % 2 == 0) {
+                slots.add(new LessonSlot(
+                        date,
+                        timeslotId,
+                        BenchmarkData.uuid(random),
+                        classroom.getId(),
+                        BenchmarkData.uuid(random)
+                ));
+            }
+        }
+
+        long slotLessonCount = slots.size();
+        AtomicInteger queries = new AtomicInteger();
+        LessonRepository lessonRepository = stub(LessonRepository.class, queries, (proxy, method, args) -> {
+            if (method.getName().equals("findSlotsByDate")) {
+                return slots.stream().filter(slot -> slot.getDate().equals(args[0])).toList();
+            }
+
+            if (method.getName().equals("countByDateAndTimeslotId")) {
+                return date.equals(args[0]) && timeslotId.equals(args[1]) ? slotLessonCount : 0L;
+            }
+
+            throw new UnsupportedOperationException(method.getName());
+        });
+        ClassroomRepository classroomRepository = stub(ClassroomRepository.class, queries, (proxy, method, args) -> {
+            if (method.getName().equals("findAll") && args == null) {
+                return new ArrayList<>(classrooms);
+            }
+
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        lessonOccupancyIndex = new LessonOccupancyIndex(lessonRepository);
+        BenchmarkData.setField(lessonOccupancyIndex, "maxDays", 400);
+        BenchmarkData.setField(lessonOccupancyIndex, "lifetimeMin", 24 * 60);
+
+        availableComponentsService = new AvailableComponentsService(
+                unsupported(TeacherRepository.class),
+                unsupported(TimeslotRepository.class),
+                classroomRepository,
+                unsupported(StudentGroupRepository.class),
+                lessonRepository,
+                lessonOccupancyIndex,
+                new VerificationOfDates(),
+                new TeacherMapper(),
+                new ClassroomMapper(),
+                new TimeslotMapper()
+        );
+
+        // Первый запрос загружает день в индекс, дальше считаются только запросы на проверку.
+        availableComponentsService.getAvailableClassrooms(timeslotId, date);
+        queries.set(0);
+
+        List<ClassroomDto> available = availableComponentsService.getAvailableClassrooms(timeslotId, date);
+
+        if (queries.get() != QUERIES_PER_REQUEST || available.size() != classroomCount / 2) {
+            throw new IllegalStateException("Запросов к БД: " + queries.get()
+                    + ", свободных аудиторий: " + available.size());
+        }
+    }
+
+    @Benchmark
+    public List<ClassroomDto> availableClassrooms() {
+        return availableComponentsService.getAvailableClassrooms(timeslotId, date);
+    }
+
+    @Benchmark
+    public Set<UUID> busyClassroomIds() {
+        return lessonOccupancyIndex.getBusyClassroomIds(date, timeslotId);
+    }
+
+    private static <T> T stub(Class<T> repository, AtomicInteger queries, InvocationHandler handler) {
+        return repository.cast(Proxy.newProxyInstance(
+                repository.getClassLoader(),
+                new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    queries.incrementAndGet();
+                    return handler.invoke(proxy, method, args);
+                }
+        ));
+    }
+
+    private static <T> T unsupported(Class<T> repository) {
+        return stub(repository, new AtomicInteger(), (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+}
@@ -0,0 +1,138 @@
+package ru.hits.timeflowapi.benchmark;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.util.ReflectionUtils;
+import ru.hits.timeflowapi.entity.ClassroomEntity;
+import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.entity.StudentGroupEntity;
+import ru.hits.timeflowapi.entity.SubjectEntity;
+import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.entity.TimeslotEntity;
+import ru.hits.timeflowapi.enumeration.LessonType;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Данные для бенчмарков. Генерируются из фиксированного {@code seed}, чтобы результаты разных запусков
+ * можно было сравнивать между собой.
+ */
+@UtilityClass
+public class BenchmarkData {
+
+    public static final LocalDate MONDAY = LocalDate.of(2023, 2, 6);
+
+    public static final int TIMESLOTS = 7;
+
+    public static final int TEACHERS = 200;
+
+    public static final int CLASSROOMS = 150;
+
+    public static final int STUDENT_GROUPS = 120;
+
+    /**
+     * Метод для генерации пар одной группы студентов. Пары распределяются по дням недели и таймслотам.
+     *
+     * @param count количество пар.
+     * @return пары.
+     */
+    public static List<LessonEntity> groupLessons(int count) {
+        Random random = new Random(42);
+        StudentGroupEntity studentGroup = StudentGroupEntity.builder().id(uuid(random)).number(972101).build();
+        List<TimeslotEntity> timeslots = timeslots(random);
+        List<LessonEntity> lessons = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            lessons.add(LessonEntity.builder()
+                    .id(uuid(random))
+                    .studentGroup(studentGroup)
+                    .subject(SubjectEntity.builder().id(uuid(random)).name("Предмет " + i).build())
+                    .teacher(TeacherEntity.builder()
+                            .id(uuid(random))
+                            .name("Имя" + i)
+                            .surname("Фамилия" + i)
+                            .patronymic("Отчество" + i)
+                            .build())
+                    .classroom(ClassroomEntity.builder().id(uuid(random)).number(String.valueOf(200 + i)).build())
+                    .timeslot(timeslots.get(i % TIMESLOTS))
+                    .date(MONDAY.plusDays((i / TIMESLOTS) % 7))
+                    .lessonType(LessonType.values()[i % LessonType.values().length])
+                    .build());
+        }
+
+        return lessons;
+    }
+
+    /**
+     * Метод для генерации таймслотов учебного дня.
+     *
+     * @param random генератор случайных чисел.
+     * @return таймслоты.
+     */
+    public static List<TimeslotEntity> timeslots(Random random) {
+        List<TimeslotEntity> timeslots = new ArrayList<>(TIMESLOTS);
+
+        for (int i = 0; i < TIMESLOTS; i++) {
+            timeslots.add(TimeslotEntity.builder()
+                    .id(uuid(random))
+                    .sequenceNumber(i + 1)
+                    .beginTime(String.format("%02d:45", 8 + i * 2))
+                    .endTime(String.format("%02d:20", 10 + i * 2))
+                    .build());
+        }
+
+        return timeslots;
+    }
+
+    /**
+     * Метод для генерации {@link UUID} из заданного генератора случайных чисел.
+     *
+     * @param random генератор случайных чисел.
+     * @return {@link UUID}.
+     */
+    public static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * Метод для установки значения поля, которое в приложении заполняет {@code Spring}.
+     *
+     * @param target объект.
+     * @param name   название поля.
+     * @param value  значение.
+     */
+    public static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+
+        if (field == null) {
+            throw new IllegalArgumentException("Поля " + name + " нет в " + target.getClass());
+        }
+
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * Метод для вызова метода без параметров, который в приложении вызывает {@code Spring},
+     * например, помеченного {@code @PostConstruct}.
+     *
+     * @param target объект.
+     * @param name   название метода.
+     */
+    public static void invoke(Object target, String name) {
+        Method method = ReflectionUtils.findMethod(target.getClass(), name);
+
+        if (method == null) {
+            throw new IllegalArgumentException("Метода " + name + " нет в " + target.getClass());
+        }
+
+        ReflectionUtils.makeAccessible(method);
+        ReflectionUtils.invokeMethod(method, target);
+    }
+
+}
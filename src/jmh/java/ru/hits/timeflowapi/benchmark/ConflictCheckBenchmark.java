@@ -0,0 +1,125 @@
+package ru.hits.timeflowapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.hits.timeflowapi.entity.TimeslotEntity;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.service.helpingservices.CheckClassroomAndTeacherAndTimeslotAccessibility;
+import ru.hits.timeflowapi.service.helpingservices.LessonOccupancyIndex;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки проверки конфликтов при добавлении пары. Вместо БД используется репозиторий, который
+ * отдаёт заранее сгенерированную занятость на день: на каждый таймслот занята половина преподавателей,
+ * аудиторий и групп, и отвечает на сверку количества пар в таймслоте. Так измеряется только работа
+ * {@link LessonOccupancyIndex}, без сетевых задержек.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConflictCheckBenchmark {
+
+    private CheckClassroomAndTeacherAndTimeslotAccessibility accessibility;
+
+    private LessonOccupancyIndex lessonOccupancyIndex;
+
+    private LocalDate date;
+
+    private UUID timeslotId;
+
+    private UUID freeTeacherId;
+
+    private UUID freeClassroomId;
+
+    private UUID freeStudentGroupId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<TimeslotEntity> timeslots = BenchmarkData.timeslots(random);
+        List<UUID> teachers = uuids(random, BenchmarkData.TEACHERS);
+        List<UUID> classrooms = uuids(random, BenchmarkData.CLASSROOMS);
+        List<UUID> studentGroups = uuids(random, BenchmarkData.STUDENT_GROUPS);
+
+        date = BenchmarkData.MONDAY;
+        timeslotId = timeslots.get(2).getId();
+
+        List<LessonSlot> slots = new ArrayList<>();
+
+        for (TimeslotEntity timeslot : timeslots) {
+            for (int i = 0; i < BenchmarkData.STUDENT_GROUPS / 2; i++) {
+                slots.add(new LessonSlot(
+                        date,
+                        timeslot.getId(),
+                        teachers.get(i),
+                        classrooms.get(i),
+                        studentGroups.get(i)
+                ));
+            }
+        }
+
+        freeTeacherId = teachers.get(teachers.size() - 1);
+        freeClassroomId = classrooms.get(classrooms.size() - 1);
+        freeStudentGroupId = studentGroups.get(studentGroups.size() - 1);
+
+        LessonRepository lessonRepository = stubRepository(slots);
+
+        lessonOccupancyIndex = new LessonOccupancyIndex(lessonRepository);
+        BenchmarkData.setField(lessonOccupancyIndex, "maxDays", 400);
+        BenchmarkData.setField(lessonOccupancyIndex, "lifetimeMin", 24 * 60);
+
+        accessibility = new CheckClassroomAndTeacherAndTimeslotAccessibility(lessonOccupancyIndex, lessonRepository);
+    }
+
+    @Benchmark
+    public void checkAccessibility() {
+        accessibility.checkAccessibility(timeslotId, freeTeacherId, freeClassroomId, freeStudentGroupId, date);
+    }
+
+    @Benchmark
+    public Set<UUID> busyTeacherIds() {
+        return lessonOccupancyIndex.getBusyTeacherIds(date, timeslotId);
+    }
+
+    private static List<UUID> uuids(Random random, int count) {
+        List<UUID> uuids = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            uuids.add(BenchmarkData.uuid(random));
+        }
+
+        return uuids;
+    }
+
+    private static LessonRepository stubRepository(List<LessonSlot> slots) {
+        return (LessonRepository) Proxy.newProxyInstance(
+                LessonRepository.class.getClassLoader(),
+                new Class<?>[]{LessonRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findSlotsByDate")) {
+                        return slots.stream().filter(slot -> slot.getDate().equals(args[0])).toList();
+                    }
+
+                    if (method.getName().equals("countByDateAndTimeslotId")) {
+                        return slots.stream()
+                                .filter(slot -> slot.getDate().equals(args[0]) && slot.getTimeslotId().equals(args[1]))
+                                .count();
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+}
@@ -0,0 +1,89 @@
+package ru.hits.timeflowapi.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.*;
+import ru.hits.timeflowapi.security.AccessTokenClaims;
+import ru.hits.timeflowapi.security.JWTService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки подписи и проверки {@code access} токенов, то есть того, что происходит
+ * в {@code JWTFilter} на каждом защищённом запросе. {@code verifyWithNewVerifier} воспроизводит
+ * прежнюю реализацию, которая создавала алгоритм и верификатор на каждый токен, и служит точкой отсчёта.
+ * {@code verifyAccessTokenWithoutCache} проверяет подпись заранее созданным верификатором,
+ * {@code verifyAccessToken} - повторная проверка того же токена, которая обслуживается кэшем.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JWTServiceBenchmark {
+
+    private static final String ACCESS_SECRET = "access_secret_key";
+
+    private static final String ISSUER = "time-flow-api";
+
+    private final UUID userId = UUID.fromString("7c6f3c4e-2d0a-4c5e-9a59-1f0b3a6a9d21");
+
+    private final List<String> authorities = List.of("ROLE_EMPLOYEE", "ROLE_SCHEDULE_MAKER");
+
+    private JWTService jwtService;
+
+    private JWTService jwtServiceWithoutCache;
+
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = createJwtService(10_000L);
+        jwtServiceWithoutCache = createJwtService(0L);
+
+        accessToken = jwtService.generateAccessToken(userId, authorities);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(userId, authorities);
+    }
+
+    @Benchmark
+    public AccessTokenClaims verifyAccessToken() {
+        return jwtService.verifyAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public AccessTokenClaims verifyAccessTokenWithoutCache() {
+        return jwtServiceWithoutCache.verifyAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyWithNewVerifier() {
+        return JWT
+                .require(Algorithm.HMAC256(ACCESS_SECRET))
+                .withIssuer(ISSUER)
+                .build()
+                .verify(accessToken);
+    }
+
+    private static JWTService createJwtService(Long verifiedCacheSize) {
+        JWTService service = new JWTService(null, null, null);
+
+        BenchmarkData.setField(service, "accessSecret", ACCESS_SECRET);
+        BenchmarkData.setField(service, "refreshSecret", "refresh_secret_key");
+        BenchmarkData.setField(service, "accessLifeTime", 15);
+        BenchmarkData.setField(service, "refreshLifeTime", 43200);
+        BenchmarkData.setField(service, "issuer", ISSUER);
+        BenchmarkData.setField(service, "verifiedCacheSize", verifiedCacheSize);
+        BenchmarkData.invoke(service, "init");
+
+        return service;
+    }
+
+}
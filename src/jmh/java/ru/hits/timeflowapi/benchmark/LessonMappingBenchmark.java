@@ -0,0 +1,82 @@
+package ru.hits.timeflowapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.hits.timeflowapi.dto.lesson.LessonDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupBasicDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupTimetableDto;
+import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.mapper.LessonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Бенчмарки пути чтения расписания: маппинг пар в DTO и сериализация недельного расписания группы.
+ * {@code lessonCount = 30} - обычная учебная неделя группы, {@code 300} - выгрузка за семестр.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LessonMappingBenchmark {
+
+    @Param({"30", "300"})
+    private int lessonCount;
+
+    private List<LessonEntity> lessons;
+
+    private LessonMapper lessonMapper;
+
+    private ObjectMapper objectMapper;
+
+    private StudentGroupTimetableDto timetable;
+
+    @Setup
+    public void setUp() {
+        lessons = BenchmarkData.groupLessons(lessonCount);
+        lessonMapper = new LessonMapper();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        timetable = new StudentGroupTimetableDto(
+                new StudentGroupBasicDto(lessons.get(0).getStudentGroup()),
+                lessonMapper.lessonListToDtoList(lessons)
+        );
+    }
+
+    @Benchmark
+    public List<LessonDto> lessonListToDtoList() {
+        return lessonMapper.lessonListToDtoList(lessons);
+    }
+
+    @Benchmark
+    public void lessonDtoConstruction(Blackhole blackhole) {
+        for (LessonEntity lesson : lessons) {
+            blackhole.consume(new LessonDto(lesson));
+        }
+    }
+
+    @Benchmark
+    public byte[] timetableSerialization() throws IOException {
+        return objectMapper.writeValueAsBytes(timetable);
+    }
+
+    @Benchmark
+    public byte[] timetableSerializationWithGzip() throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(timetable);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(gzip)) {
+            gzipStream.write(json);
+        }
+
+        return gzip.toByteArray();
+    }
+
+}
@@ -0,0 +1,303 @@
+package ru.hits.timeflowapi.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Нагрузочный тест эндпоинтов {@code /api/v1/lessons} из {@code ScheduleDisplayController}
+ * и {@code SchedulingController} против запущенного приложения. Каждый из {@code concurrency} клиентов
+ * в цикле выполняет запросы без пауз на своём виртуальном потоке, в конце печатаются пропускная способность,
+ * перцентили задержки и коды ответов по каждому типу запроса.
+ * <p>
+ * Чтобы сравнить режимы, приложение запускается дважды - с {@code spring.threads.virtual.enabled=false}
+ * и {@code true} (на JDK 21+), и тест прогоняется с одинаковыми параметрами:
+ * <pre>
+ * mvn -Pjmh compile exec:exec -Djmh.main=ru.hits.timeflowapi.benchmark.LessonsLoadTest \
+ *     -Djmh.args="base-url=http://localhost:8080 concurrency=1000 duration-sec=60 \
+ *     group-id=... teacher-id=... classroom-id=..."
+ * </pre>
+ * Для запросов на изменение нужны {@code write-ratio} больше нуля, {@code token} составителя расписаний
+ * и {@code subject-id}, {@code timeslot-id}. Такой запрос добавляет пару и сразу удаляет её. Каждый клиент
+ * использует свою дату, чтобы клиенты не конфликтовали друг с другом.
+ * <p>
+ * Чтения можно направить в неблокирующий API ({@code ReactiveScheduleDisplayController}) аргументом
+ * {@code read-prefix=/api/v1/reactive/lessons}, чтобы сравнить его с обычным при том же количестве клиентов.
+ * <p>
+ * Если приложение запущено на той же машине под Linux, аргумент {@code server-pid} включает замер его
+ * резидентной памяти до запуска клиентов и в конце замера, а также прирост памяти на одного клиента.
+ * При тысячах клиентов {@code Tomcat} должен принимать столько соединений:
+ * {@code --server.tomcat.max-connections} не меньше {@code concurrency}.
+ */
+public class LessonsLoadTest {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    private static final String[] TIMETABLES = {"group", "teacher", "classroom"};
+
+    private final Map<String, String> args;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final String baseUrl;
+
+    private final String readPrefix;
+
+    private final LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY);
+
+    private LessonsLoadTest(Map<String, String> args) {
+        this.args = args;
+        this.baseUrl = required("base-url");
+        this.readPrefix = args.getOrDefault("read-prefix", "/api/v1/lessons");
+    }
+
+    public static void main(String[] arguments) throws InterruptedException {
+        Map<String, String> args = new HashMap<>();
+
+        for (String argument : arguments) {
+            int separator = argument.indexOf('=');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("Аргумент должен иметь вид ключ=значение: " + argument);
+            }
+
+            args.put(argument.substring(0, separator), argument.substring(separator + 1));
+        }
+
+        new LessonsLoadTest(args).run();
+    }
+
+    private void run() throws InterruptedException {
+        int concurrency = Integer.parseInt(args.getOrDefault("concurrency", "200"));
+        long warmupMs = Long.parseLong(args.getOrDefault("warmup-sec", "10")) * 1000;
+        long durationMs = Long.parseLong(args.getOrDefault("duration-sec", "30")) * 1000;
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Worker> workers = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long idleRssKb = serverRssKb();
+
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(i, measuring, running);
+            workers.add(worker);
+            executor.execute(worker);
+        }
+
+        Thread.sleep(warmupMs);
+        measuring.set(true);
+        long start = System.nanoTime();
+        Thread.sleep(durationMs);
+        long loadRssKb = serverRssKb();
+        measuring.set(false);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Map<String, Stats> total = new TreeMap<>();
+
+        for (Worker worker : workers) {
+            worker.stats.forEach((name, stats) -> total.computeIfAbsent(name, key -> new Stats()).merge(stats));
+        }
+
+        System.out.printf("concurrency=%d, duration=%.1f s%n", concurrency, seconds);
+        System.out.printf("%-12s %10s %10s %10s %10s %10s  %s%n",
+                "request", "req/s", "p50, ms", "p90, ms", "p99, ms", "max, ms", "statuses");
+        total.forEach((name, stats) -> stats.print(name, seconds));
+
+        if (idleRssKb > 0 && loadRssKb > 0) {
+            System.out.printf("server RSS: idle %d MB, under load %d MB, %.1f KB per client%n",
+                    idleRssKb / 1024, loadRssKb / 1024, (double) (loadRssKb - idleRssKb) / concurrency);
+        }
+    }
+
+    /**
+     * Метод для получения резидентной памяти приложения из {@code /proc/<server-pid>/status}.
+     *
+     * @return память в килобайтах или {@code -1}, если {@code server-pid} не задан.
+     */
+    private long serverRssKb() {
+        String pid = args.get("server-pid");
+
+        if (pid == null) {
+            return -1;
+        }
+
+        try {
+            return Files.readAllLines(Path.of("/proc", pid, "status"))
+                    .stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private String required(String name) {
+        String value = args.get(name);
+
+        if (value == null) {
+            throw new IllegalArgumentException("Не задан обязательный аргумент " + name);
+        }
+
+        return value;
+    }
+
+    private class Worker implements Runnable {
+
+        private final Map<String, Stats> stats = new HashMap<>();
+
+        private final Random random;
+
+        private final LocalDate writeDate;
+
+        private final AtomicBoolean measuring;
+
+        private final AtomicBoolean running;
+
+        private Worker(int index, AtomicBoolean measuring, AtomicBoolean running) {
+            this.random = new Random(index);
+            this.writeDate = monday.plusYears(1).plusDays(index);
+            this.measuring = measuring;
+            this.running = running;
+        }
+
+        @Override
+        public void run() {
+            double writeRatio = Double.parseDouble(args.getOrDefault("write-ratio", "0"));
+            int weeks = Integer.parseInt(args.getOrDefault("weeks", "4"));
+
+            while (running.get()) {
+                if (random.nextDouble() < writeRatio) {
+                    String body = send("create", HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/lessons"))
+                            .header("Authorization", "Bearer " + required("token"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(createLessonBody())));
+                    Matcher matcher = body == null ? null : ID_PATTERN.matcher(body);
+
+                    if (matcher != null && matcher.find()) {
+                        send("delete", HttpRequest
+                                .newBuilder(URI.create(baseUrl + "/api/v1/lessons/" + matcher.group(1)))
+                                .header("Authorization", "Bearer " + required("token"))
+                                .DELETE());
+                    }
+                } else {
+                    String timetable = TIMETABLES[random.nextInt(TIMETABLES.length)];
+                    LocalDate start = monday.plusWeeks(random.nextInt(weeks));
+
+                    send(timetable, HttpRequest.newBuilder(URI.create(baseUrl + readPrefix + "/" + timetable + "/"
+                            + required(timetable + "-id")
+                            + "?startDate=" + start + "&endDate=" + start.plusDays(6))).GET());
+                }
+            }
+        }
+
+        private String createLessonBody() {
+            return "{\"studentGroupId\":\"" + required("group-id")
+                    + "\",\"subjectId\":\"" + required("subject-id")
+                    + "\",\"teacherId\":\"" + required("teacher-id")
+                    + "\",\"classroomId\":\"" + required("classroom-id")
+                    + "\",\"timeslotId\":\"" + required("timeslot-id")
+                    + "\",\"date\":\"" + writeDate
+                    + "\",\"lessonType\":\"LECTURE\"}";
+        }
+
+        private String send(String name, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            String body = null;
+            String status;
+
+            try {
+                HttpResponse<String> response = client.send(
+                        request.timeout(Duration.ofSeconds(30)).build(),
+                        HttpResponse.BodyHandlers.ofString()
+                );
+                status = String.valueOf(response.statusCode());
+                body = response.body();
+            } catch (Exception exception) {
+                status = exception.getClass().getSimpleName();
+            }
+
+            if (measuring.get()) {
+                stats.computeIfAbsent(name, key -> new Stats()).record(System.nanoTime() - start, status);
+            }
+
+            return body;
+        }
+
+    }
+
+    private static class Stats {
+
+        private long[] latencies = new long[1024];
+
+        private int size;
+
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        private void record(long latencyNanos, String status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+
+            latencies[size++] = latencyNanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        private void merge(Stats other) {
+            for (int i = 0; i < other.size; i++) {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+
+                latencies[size++] = other.latencies[i];
+            }
+
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+        }
+
+        private void print(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+
+            System.out.printf("%-12s %10.1f %10.1f %10.1f %10.1f %10.1f  %s%n",
+                    name,
+                    size / seconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.90),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 1.0),
+                    statuses);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+    }
+
+}
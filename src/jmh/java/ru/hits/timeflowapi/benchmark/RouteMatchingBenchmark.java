@@ -0,0 +1,109 @@
+package ru.hits.timeflowapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import ru.hits.timeflowapi.util.constants.SecuredEndpoints;
+import ru.hits.timeflowapi.util.routing.SecuredEndpoint;
+import ru.hits.timeflowapi.util.routing.SecuredRouteTrie;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк проверки, защищён ли эндпоинт, из {@code JWTFilter.shouldNotFilter}. Смесь запросов примерно
+ * повторяет реальный трафик: больше всего публичных чтений расписания, затем запросы личного кабинета
+ * и составления расписания. {@code antMatchers} - прежний перебор {@link AntPathRequestMatcher},
+ * {@code routeTrie} - скомпилированное дерево. Перед замерами проверяется, что ответы совпадают.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RouteMatchingBenchmark {
+
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/v1/lessons/group/3f1c9d2e-8a4b-4d6f-9e1a-2b3c4d5e6f70"},
+            {"GET", "/api/v1/lessons/group/3f1c9d2e-8a4b-4d6f-9e1a-2b3c4d5e6f71"},
+            {"GET", "/api/v1/lessons/group/3f1c9d2e-8a4b-4d6f-9e1a-2b3c4d5e6f72"},
+            {"GET", "/api/v1/lessons/group/3f1c9d2e-8a4b-4d6f-9e1a-2b3c4d5e6f73"},
+            {"GET", "/api/v1/lessons/teacher/5a6b7c8d-1e2f-4a3b-8c9d-0e1f2a3b4c5d"},
+            {"GET", "/api/v1/lessons/classroom/9e8d7c6b-5a4f-4e3d-8c2b-1a0f9e8d7c6b"},
+            {"GET", "/api/v1/lessons/0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d"},
+            {"GET", "/api/v1/groups"},
+            {"GET", "/api/v1/timeslots"},
+            {"GET", "/api/v1/account/user"},
+            {"GET", "/api/v1/account/employee-posts"},
+            {"POST", "/api/v1/lessons"},
+            {"PUT", "/api/v1/lessons/0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d"},
+            {"GET", "/api/v1/available-classrooms"},
+            {"POST", "/api/v1/sign-in"},
+            {"GET", "/swagger-ui/index.html"},
+            {"GET", "/api/v1/users/"},
+            {"DELETE", "/api/v1/lessons/group/"},
+            {"GET", "/actuator/metrics"}
+    };
+
+    private List<AntPathRequestMatcher> antMatchers;
+
+    private SecuredRouteTrie routeTrie;
+
+    private MockHttpServletRequest[] requests;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        antMatchers = SecuredEndpoints.ENDPOINTS
+                .stream()
+                .map(RouteMatchingBenchmark::toAntMatcher)
+                .toList();
+        routeTrie = SecuredRouteTrie.compile(SecuredEndpoints.ENDPOINTS);
+        requests = new MockHttpServletRequest[REQUESTS.length];
+
+        for (int i = 0; i < REQUESTS.length; i++) {
+            requests[i] = new MockHttpServletRequest(REQUESTS[i][0], REQUESTS[i][1]);
+            requests[i].setServletPath(REQUESTS[i][1]);
+
+            if (matchAnt(requests[i]) != matchTrie(requests[i])) {
+                throw new IllegalStateException("Результаты различаются для " + REQUESTS[i][0] + " " + REQUESTS[i][1]);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean antMatchers() {
+        return matchAnt(nextRequest());
+    }
+
+    @Benchmark
+    public boolean routeTrie() {
+        return matchTrie(nextRequest());
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        next = (next + 1) % requests.length;
+        return requests[next];
+    }
+
+    private boolean matchAnt(MockHttpServletRequest request) {
+        for (AntPathRequestMatcher matcher : antMatchers) {
+            if (matcher.matcher(request).isMatch()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean matchTrie(MockHttpServletRequest request) {
+        return routeTrie.matches(request.getMethod(), request.getServletPath());
+    }
+
+    private static AntPathRequestMatcher toAntMatcher(SecuredEndpoint endpoint) {
+        return new AntPathRequestMatcher(endpoint.getPattern(), endpoint.getMethod());
+    }
+
+}
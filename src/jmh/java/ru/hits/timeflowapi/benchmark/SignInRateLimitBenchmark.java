@@ -0,0 +1,56 @@
+package ru.hits.timeflowapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.hits.timeflowapi.util.ratelimit.StripedTokenBucket;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк ограничения частоты попыток входа из {@code SignInRateLimiter} под конкурентной нагрузкой.
+ * {@code spread} - запросы с разных адресов, у которых почти всегда есть токены,
+ * {@code flood} - перебор паролей с одного адреса, когда почти все запросы отклоняются.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class SignInRateLimitBenchmark {
+
+    private static final int ADDRESSES = 4096;
+
+    private StripedTokenBucket buckets;
+
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        buckets = new StripedTokenBucket(65536, 20, 20);
+        addresses = new String[ADDRESSES];
+
+        for (int i = 0; i < ADDRESSES; i++) {
+            addresses[i] = "10." + (i >> 8) + "." + (i & 0xff) + ".1";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+    }
+
+    @Benchmark
+    public long spread(Cursor cursor) {
+        cursor.next = (cursor.next + 1) & (ADDRESSES - 1);
+        return buckets.tryAcquire(addresses[cursor.next]);
+    }
+
+    @Benchmark
+    public long flood() {
+        return buckets.tryAcquire(addresses[0]);
+    }
+
+}
@@ -0,0 +1,146 @@
+package ru.hits.timeflowapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.hits.timeflowapi.controller.ScheduleDisplayController;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupTimetableDto;
+import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.mapper.LessonMapper;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.service.LessonService;
+import ru.hits.timeflowapi.service.cache.CachedTimetable;
+import ru.hits.timeflowapi.service.cache.TimetableCache;
+import ru.hits.timeflowapi.service.cache.TimetableVersions;
+import ru.hits.timeflowapi.service.helpingservices.VerificationOfDates;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки ответа на запрос недельного расписания группы в двух режимах {@link ScheduleDisplayController}:
+ * с сериализацией DTO из кэша при каждом запросе и с уже сериализованными снимками
+ * ({@code timetable.snapshots.enabled}). Расписание в обоих режимах уже лежит в кэше, поэтому сравнивается
+ * работа на попадание в кэш: получение расписания из {@link LessonService} и запись тела ответа, то есть
+ * {@code Jackson} против копирования готовых байтов. Общие для обоих режимов расходы {@code Spring MVC}
+ * и сети не входят. Результат - запросы в миллисекунду на один поток.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TimetableSnapshotBenchmark {
+
+    private static final LocalDate START_DATE = BenchmarkData.MONDAY;
+
+    private static final LocalDate END_DATE = BenchmarkData.MONDAY.plusDays(6);
+
+    @Param({"30", "300"})
+    private int lessonCount;
+
+    private LessonService lessonService;
+
+    private ObjectMapper objectMapper;
+
+    private UUID groupId;
+
+    private ByteArrayOutputStream responseBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<LessonEntity> lessons = BenchmarkData.groupLessons(lessonCount);
+        groupId = lessons.get(0).getStudentGroup().getId();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        lessonService = lessonService(lessons, objectMapper);
+        responseBody = new ByteArrayOutputStream();
+
+        // Первые запросы заполняют кэши, заодно проверяется, что режимы отдают одно и то же тело ответа.
+        byte[] mapped = objectMapping();
+        byte[] snapshot = snapshot();
+
+        if (!Arrays.equals(mapped, snapshot)) {
+            throw new IllegalStateException("Режимы отдают разные ответы");
+        }
+    }
+
+    @Benchmark
+    public byte[] objectMapping() throws IOException {
+        CachedTimetable<StudentGroupTimetableDto> timetable =
+                lessonService.getWeekLessonsByGroupId(groupId, START_DATE, END_DATE);
+
+        responseBody.reset();
+        objectMapper.writeValue(responseBody, timetable.getTimetable());
+        return responseBody.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] snapshot() throws IOException {
+        return write(lessonService.getTimetableSnapshot(TimetableType.STUDENT_GROUP, groupId, START_DATE, END_DATE)
+                .getJson());
+    }
+
+    @Benchmark
+    public byte[] snapshotWithGzip() throws IOException {
+        return write(lessonService.getTimetableSnapshot(TimetableType.STUDENT_GROUP, groupId, START_DATE, END_DATE)
+                .getGzip());
+    }
+
+    private byte[] write(byte[] body) throws IOException {
+        responseBody.reset();
+        responseBody.write(body);
+        return responseBody.toByteArray();
+    }
+
+    /**
+     * Метод для сборки {@link LessonService} с настоящим {@link TimetableCache}. Репозиторий пар отдаёт заранее
+     * сгенерированные пары, остальные зависимости при чтении расписания не используются.
+     */
+    private static LessonService lessonService(List<LessonEntity> lessons, ObjectMapper objectMapper) {
+        TimetableVersions timetableVersions = new TimetableVersions();
+        BenchmarkData.setField(timetableVersions, "expireAfterAccessMin", 60L);
+        BenchmarkData.invoke(timetableVersions, "init");
+
+        TimetableCache timetableCache = new TimetableCache(new SimpleMeterRegistry(), timetableVersions, objectMapper);
+        BenchmarkData.setField(timetableCache, "maxSize", 10_000L);
+        BenchmarkData.setField(timetableCache, "ttlMin", 24 * 60L);
+        BenchmarkData.invoke(timetableCache, "init");
+
+        LessonRepository lessonRepository = (LessonRepository) Proxy.newProxyInstance(
+                LessonRepository.class.getClassLoader(),
+                new Class<?>[]{LessonRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByStudentGroupIdAndDateIsBetweenOrderByDate")) {
+                        return lessons;
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        );
+
+        return new LessonService(
+                lessonRepository,
+                null,
+                null,
+                null,
+                null,
+                null,
+                new VerificationOfDates(),
+                null,
+                new LessonMapper(),
+                null,
+                timetableCache,
+                objectMapper
+        );
+    }
+
+}
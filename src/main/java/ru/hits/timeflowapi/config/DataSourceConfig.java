@@ -0,0 +1,41 @@
+package ru.hits.timeflowapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Конфигурация пула {@code JDBC} соединений. Автоконфигурация {@code DataSource} отключается, как только
+ * в контексте есть {@code R2DBC ConnectionFactory} (см. {@link ReactiveDatabaseConfig}), а вместе с ней
+ * пропали бы {@code JPA}, репозитории и миграции {@code Flyway}. Поэтому пул объявлен явно и настраивается
+ * теми же свойствами {@code spring.datasource.*} и {@code spring.datasource.hikari.*}, что и автоконфигурацией.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * Бин для {@link HikariDataSource}.
+     *
+     * @param properties свойства {@code spring.datasource.*}.
+     * @return пул {@code JDBC} соединений.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+
+        return dataSource;
+    }
+
+}
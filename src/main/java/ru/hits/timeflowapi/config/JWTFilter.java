@@ -6,24 +6,26 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import ru.hits.timeflowapi.dto.ApiError;
 import ru.hits.timeflowapi.exception.AccessTokenNotValidException;
 import ru.hits.timeflowapi.exception.RefreshTokenNotValidException;
 import ru.hits.timeflowapi.exception.UnauthorizedException;
+import ru.hits.timeflowapi.security.AccessTokenClaims;
 import ru.hits.timeflowapi.security.JWTService;
+import ru.hits.timeflowapi.security.UserAuthoritiesRegistry;
+import ru.hits.timeflowapi.security.UserDetailsImpl;
 import ru.hits.timeflowapi.security.UserDetailsServiceImpl;
 import ru.hits.timeflowapi.util.constants.SecuredEndpoints;
+import ru.hits.timeflowapi.util.routing.SecuredRouteTrie;
 
-import javax.servlet.FilterChain;
-import javax.servlet.ServletException;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -32,6 +34,8 @@ public class JWTFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserAuthoritiesRegistry userAuthoritiesRegistry;
+    private final SecuredRouteTrie securedRoutes = SecuredRouteTrie.compile(SecuredEndpoints.ENDPOINTS);
 
     /**
      * Проверка валидности токена. Этот фильтр вызывается для каждого запроса. Цепочку нужно прервать
@@ -53,8 +57,8 @@ public class JWTFilter extends OncePerRequestFilter {
         if (authHeader != null) {
             try {
                 String jwt = authHeader.substring(7);
-                UUID id = jwtService.verifyAccessTokenAndGetId(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(id.toString());
+                AccessTokenClaims claims = jwtService.verifyAccessToken(jwt);
+                UserDetails userDetails = getUserDetails(claims);
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -89,6 +93,23 @@ public class JWTFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Метод для получения данных пользователя. Обычно они целиком берутся из токена, а в БД
+     * запрос выполняется, только если токен выпущен до изменения полномочий пользователя
+     * или в нём нет полномочий.
+     *
+     * @param claims полезная нагрузка проверенного {@code access} токена.
+     * @return данные пользователя.
+     */
+    private UserDetails getUserDetails(AccessTokenClaims claims) {
+        if (claims.getAuthorities() != null
+                && userAuthoritiesRegistry.isActual(claims.getId(), claims.getIssuedAt())) {
+            return UserDetailsImpl.of(claims);
+        }
+
+        return userDetailsService.loadUserByUsername(claims.getId().toString());
+    }
+
     /**
      * Метод, который определяет необходимость выполнения текущего фильтра. Если метод возвращает {@code true},
      * то фильтр не выполняется, если {@code false}, то фильтр выполняется.
@@ -98,13 +119,11 @@ public class JWTFilter extends OncePerRequestFilter {
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        for (AntPathRequestMatcher endpoint : SecuredEndpoints.ENDPOINTS) {
-            if (endpoint.matcher(request).isMatch()) {
-                return false;
-            }
-        }
+        String path = request.getPathInfo() == null
+                ? request.getServletPath()
+                : request.getServletPath() + request.getPathInfo();
 
-        return true;
+        return !securedRoutes.matches(request.getMethod(), path);
     }
 
     /**
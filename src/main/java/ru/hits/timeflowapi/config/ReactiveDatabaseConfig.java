@@ -0,0 +1,27 @@
+package ru.hits.timeflowapi.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Конфигурация неблокирующего доступа к БД через {@code R2DBC}. Используется только для чтения расписаний,
+ * все изменения по-прежнему идут через {@code JPA}. Пул соединений настраивается свойствами
+ * {@code spring.r2dbc.*}, а реактивный менеджер транзакций отключён, чтобы не подменять менеджер транзакций {@code JPA}.
+ */
+@Configuration
+public class ReactiveDatabaseConfig {
+
+    /**
+     * Бин для {@link DatabaseClient}.
+     *
+     * @param connectionFactory пул {@code R2DBC} соединений.
+     * @return клиент для неблокирующих запросов к БД.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+}
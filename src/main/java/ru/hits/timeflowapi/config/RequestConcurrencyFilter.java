@@ -0,0 +1,105 @@
+package ru.hits.timeflowapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтр, который ограничивает количество одновременно обрабатываемых запросов. Нужен, когда запросы
+ * выполняются на виртуальных потоках: их количество не ограничено пулом {@code Tomcat}, и без ограничения
+ * все запросы сверх размера пула соединений ждали бы соединение внутри {@code Hikari} до таймаута.
+ * Запрос, который не дождался своей очереди, получает ответ 503. Асинхронный запрос ({@code CompletableFuture},
+ * {@code Mono}, {@code StreamingResponseBody} и т.п.) занимает место до завершения асинхронной обработки,
+ * а не до возврата из первого вызова фильтра.
+ */
+@Slf4j
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMs;
+
+    /**
+     * Конструктор.
+     *
+     * @param maxConcurrentRequests максимальное количество одновременно обрабатываемых запросов.
+     * @param acquireTimeoutMs      сколько запрос может ждать своей очереди.
+     */
+    public RequestConcurrencyFilter(int maxConcurrentRequests, long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("Запрос на URL {} отклонён: превышено количество одновременных запросов.",
+                    request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Слушатель, который освобождает место после завершения асинхронного запроса. Контейнер вызывает
+     * {@code onComplete} ровно один раз, в том числе после ошибки и таймаута, поэтому место освобождается только в нём.
+     */
+    private class PermitReleasingListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Место освобождается в onComplete.
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Место освобождается в onComplete.
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Повторный запуск асинхронной обработки оставляет слушатель зарегистрированным.
+        }
+
+    }
+
+}
@@ -1,96 +1,107 @@
 package ru.hits.timeflowapi.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
-import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import ru.hits.timeflowapi.security.BCryptStrengthCalibrator;
 import ru.hits.timeflowapi.security.UserDetailsServiceImpl;
 
+import java.time.Duration;
+
 import static ru.hits.timeflowapi.util.constants.RoleConstant.*;
 
 /**
  * Класс для конфигурации {@code Spring Security}.
  */
+@Configuration
 @EnableWebSecurity
-@EnableGlobalMethodSecurity(prePostEnabled = true)
+@EnableMethodSecurity
 @RequiredArgsConstructor
-public class SecurityConfig extends WebSecurityConfigurerAdapter {
+public class SecurityConfig {
 
-    private final UserDetailsServiceImpl userDetailsServiceImpl;
     private final JWTFilter jwtFilter;
 
+    @Value("${password.bcrypt.strength}")
+    private Integer bcryptStrength;
+
+    @Value("${password.bcrypt.target-latency-ms}")
+    private Long bcryptTargetLatency;
+
     /**
-     * Конфигурирование {@code Spring Security}.
+     * Конфигурирование {@code Spring Security}. Асинхронные и ошибочные диспетчеризации пропускаются:
+     * доступ к запросу уже проверен при его первой диспетчеризации, а {@link JWTFilter} на них не выполняется.
+     * Пользователи для входа по паролю загружаются {@link UserDetailsServiceImpl} и проверяются
+     * {@link #getPasswordEncoder()}, {@code Spring Boot} подключает их к {@code AuthenticationManager} сам.
      *
      * @param http объект {@link HttpSecurity} для конфигурирования.
+     * @return цепочка фильтров безопасности.
      * @throws Exception исключение, которое может возникнуть во время конфигурирования {@link HttpSecurity}.
      */
-    @Override
-    public void configure(HttpSecurity http) throws Exception {
-        http
-                .csrf().disable()
-                .authorizeRequests()
-                .antMatchers("/api/v1/student-requests/**").hasRole(ADMIN)
-                .antMatchers("/api/v1/employee-requests/**").hasRole(ADMIN)
-                .antMatchers("/api/v1/schedule-maker-requests/**").hasRole(ADMIN)
-                .antMatchers(HttpMethod.POST, "/api/v1/teachers").hasRole(ADMIN)
-                .antMatchers(HttpMethod.POST, "/api/v1/subjects").hasRole(ADMIN)
-                .antMatchers(HttpMethod.POST, "/api/v1/groups").hasRole(ADMIN)
-                .antMatchers(HttpMethod.POST, "/api/v1/classrooms").hasRole(ADMIN)
-                .antMatchers("/api/v1/available-timeslots").hasAnyRole(ADMIN, SCHEDULE_MAKER)
-                .antMatchers("/api/v1/available-teachers").hasAnyRole(ADMIN, SCHEDULE_MAKER)
-                .antMatchers("/api/v1/available-classrooms").hasAnyRole(ADMIN, SCHEDULE_MAKER)
-                .antMatchers("/api/v1/account/employee-posts").hasRole(EMPLOYEE)
-                .antMatchers("/api/v1/account/**").authenticated()
-                .antMatchers("/api/v1/sign-out").authenticated()
-                .antMatchers("/api/v1/users").hasRole(ADMIN)
-                .antMatchers("/api/v1/students").hasRole(ADMIN)
-                .antMatchers("/api/v1/employees").hasRole(ADMIN)
-                .antMatchers("/api/v1/employee-posts").hasRole(ADMIN)
-                .antMatchers(HttpMethod.POST, "/api/v1/lessons/**").hasAnyRole(ADMIN, SCHEDULE_MAKER)
-                .antMatchers(HttpMethod.PUT, "/api/v1/lessons/**").hasAnyRole(ADMIN, SCHEDULE_MAKER)
-                .antMatchers(HttpMethod.DELETE, "/api/v1/lessons/**").hasAnyRole(ADMIN, SCHEDULE_MAKER)
-                .anyRequest().permitAll()
-                .and()
-                .sessionManagement()
-                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-                .and()
-                .cors()
-                .and()
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
-    }
-
-    /**
-     * Конфигурирование {@link AuthenticationManager}.
-     *
-     * @param auth объект {@link AuthenticationManagerBuilder} для конфигурирования.
-     * @throws Exception исключение, которое может возникнуть при
-     *                   конфигурировании реализации для {@code UserDetailsService}.
-     */
-    @Override
-    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth
-                .userDetailsService(userDetailsServiceImpl)
-                .passwordEncoder(getPasswordEncoder());
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(requests -> requests
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/api/v1/student-requests/**").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/employee-requests/**").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/schedule-maker-requests/**").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/v1/teachers").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/v1/subjects").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/v1/groups").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/v1/classrooms").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/available-timeslots").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers("/api/v1/available-teachers").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers("/api/v1/available-classrooms").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers("/api/v1/availability-matrix").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers("/api/v1/account/employee-posts").hasRole(EMPLOYEE)
+                        .requestMatchers("/api/v1/account/**").authenticated()
+                        .requestMatchers("/api/v1/sign-out").authenticated()
+                        .requestMatchers("/api/v1/users").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/students").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/employees").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/users/cursor").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/students/cursor").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/employees/cursor").hasRole(ADMIN)
+                        .requestMatchers("/api/v1/employee-posts").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/v1/lessons/**").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/lessons/**").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/lessons/**").hasAnyRole(ADMIN, SCHEDULE_MAKER)
+                        .requestMatchers("/actuator/metrics/**").hasRole(ADMIN)
+                        .anyRequest().permitAll()
+                )
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .cors(Customizer.withDefaults())
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .build();
     }
 
     /**
-     * Бин для {@code password encoder}.
+     * Бин для {@code password encoder}. Если стоимость {@code BCrypt} не задана явно (меньше нуля),
+     * то она подбирается при старте под целевое время хэширования.
      *
      * @return реализацию интерфейса {@link BCryptPasswordEncoder}.
      */
     @Bean
     public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength < 0
+                ? BCryptStrengthCalibrator.calibrate(Duration.ofMillis(bcryptTargetLatency))
+                : bcryptStrength;
+
+        return new BCryptPasswordEncoder(strength);
     }
 
 }
@@ -0,0 +1,52 @@
+package ru.hits.timeflowapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Конфигурация режима, в котором запросы обрабатываются на виртуальных потоках вместо пула потоков
+ * {@code Tomcat}. Включается свойством {@code spring.threads.virtual.enabled}, сами виртуальные потоки
+ * для {@code Tomcat} и асинхронных задач включает {@code Spring Boot}.
+ * <p>
+ * Блокирующие вызовы JPA на виртуальных потоках дешёвые, но количество соединений к БД остаётся
+ * ограниченным, поэтому одновременная обработка запросов ограничивается {@link RequestConcurrencyFilter}
+ * исходя из размера пула {@code Hikari}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private Integer maximumPoolSize;
+
+    @Value("${spring.threads.virtual.requests-per-connection}")
+    private Integer requestsPerConnection;
+
+    @Value("${spring.threads.virtual.acquire-timeout-ms}")
+    private Long acquireTimeoutMs;
+
+    /**
+     * Бин для ограничения количества одновременно обрабатываемых запросов.
+     *
+     * @return регистрация {@link RequestConcurrencyFilter}, который выполняется раньше остальных фильтров.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyFilter> requestConcurrencyFilter() {
+        int maxConcurrentRequests = maximumPoolSize * requestsPerConnection;
+        FilterRegistrationBean<RequestConcurrencyFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyFilter(maxConcurrentRequests, acquireTimeoutMs)
+        );
+
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        log.info("Максимальное количество одновременных запросов: {}", maxConcurrentRequests);
+
+        return registration;
+    }
+
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.hits.timeflowapi.dto.TimeslotDto;
+import ru.hits.timeflowapi.dto.availability.AvailabilityMatrixDto;
 import ru.hits.timeflowapi.dto.classroom.ClassroomDto;
 import ru.hits.timeflowapi.dto.teacher.TeacherDto;
 import ru.hits.timeflowapi.service.AvailableComponentsService;
@@ -60,4 +61,17 @@ public class AvailableComponentsController {
         return availableComponentsService.getAvailableTeachers(timeslotId, date);
     }
 
+    @Operation(
+            summary = "Получить матрицу занятости аудиторий, преподавателей и групп за период.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/availability-matrix")
+    public AvailabilityMatrixDto getAvailabilityMatrix(
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam("startDate") LocalDate startDate,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam("endDate") LocalDate endDate) {
+        return availableComponentsService.getAvailabilityMatrix(startDate, endDate);
+    }
+
 }
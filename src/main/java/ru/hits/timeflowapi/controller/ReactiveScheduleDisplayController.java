@@ -0,0 +1,60 @@
+package ru.hits.timeflowapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.hits.timeflowapi.dto.classroom.ClassroomTimetableDto;
+import ru.hits.timeflowapi.dto.lesson.LessonDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupTimetableDto;
+import ru.hits.timeflowapi.dto.teacher.TeacherTimetableDto;
+import ru.hits.timeflowapi.service.ReactiveTimetableService;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Неблокирующий вариант {@link ScheduleDisplayController} только для чтения. Пока запрос ждёт БД,
+ * поток {@code Tomcat} не занят: ответ отправляется асинхронно, когда {@link Mono} завершится.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/lessons")
+@RequiredArgsConstructor
+@Tag(name = "Отображение расписания (неблокирующее)")
+public class ReactiveScheduleDisplayController {
+
+    private final ReactiveTimetableService reactiveTimetableService;
+
+    @Operation(summary = "Получить пары, которые проходят у группы на неделе.")
+    @GetMapping("/group/{groupId}")
+    public Mono<StudentGroupTimetableDto> getWeekLessonsByGroupId(@PathVariable("groupId") UUID groupId,
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate) {
+        return reactiveTimetableService.getWeekLessonsByGroupId(groupId, startDate, endDate);
+    }
+
+    @Operation(summary = "Получить пары, которые проходят у преподавателя на неделе.")
+    @GetMapping("/teacher/{teacherId}")
+    public Mono<TeacherTimetableDto> getWeekLessonsByTeacherId(@PathVariable("teacherId") UUID teacherId,
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate) {
+        return reactiveTimetableService.getWeekLessonsByTeacherId(teacherId, startDate, endDate);
+    }
+
+    @Operation(summary = "Получить пары, которые проходят в аудитории на неделе.")
+    @GetMapping("/classroom/{classroomId}")
+    public Mono<ClassroomTimetableDto> getWeekLessonsByClassroomId(@PathVariable("classroomId") UUID classroomId,
+                                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate) {
+        return reactiveTimetableService.getWeekLessonsByClassroomId(classroomId, startDate, endDate);
+    }
+
+    @Operation(summary = "Получить описание пары.")
+    @GetMapping("/{id}")
+    public Mono<LessonDto> getLessonById(@PathVariable("id") UUID id) {
+        return reactiveTimetableService.getLessonById(id);
+    }
+
+}
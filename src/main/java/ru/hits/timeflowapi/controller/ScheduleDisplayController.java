@@ -1,20 +1,31 @@
 package ru.hits.timeflowapi.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.hits.timeflowapi.dto.classroom.ClassroomTimetableDto;
 import ru.hits.timeflowapi.dto.lesson.LessonDto;
 import ru.hits.timeflowapi.dto.studentgroup.StudentGroupTimetableDto;
 import ru.hits.timeflowapi.dto.teacher.TeacherTimetableDto;
+import ru.hits.timeflowapi.enumeration.TimetableType;
 import ru.hits.timeflowapi.service.LessonService;
+import ru.hits.timeflowapi.service.cache.CachedTimetable;
+import ru.hits.timeflowapi.service.cache.TimetableSnapshot;
 
 import java.time.LocalDate;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/lessons")
@@ -25,28 +36,43 @@ public class ScheduleDisplayController {
 
     private final LessonService lessonService;
 
+    @Value("${timetable.snapshots.enabled}")
+    private Boolean snapshotsEnabled;
+
     @Operation(summary = "Получить пары, которые проходят у группы на неделе.")
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = StudentGroupTimetableDto.class)))
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<StudentGroupTimetableDto> getWeekLessonsByGroupId(@PathVariable("groupId") UUID groupId,
-                                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
-                                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate) {
-        return new ResponseEntity<>(lessonService.getWeekLessonsByGroupId(groupId, startDate, endDate), HttpStatus.OK);
+    public ResponseEntity<?> getWeekLessonsByGroupId(@PathVariable("groupId") UUID groupId,
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate,
+                                                     WebRequest webRequest) {
+        return getTimetable(TimetableType.STUDENT_GROUP, groupId, startDate, endDate, webRequest,
+                () -> lessonService.getWeekLessonsByGroupId(groupId, startDate, endDate));
     }
 
     @Operation(summary = "Получить пары, которые проходят у преподавателя на неделе.")
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = TeacherTimetableDto.class)))
     @GetMapping("/teacher/{teacherId}")
-    public ResponseEntity<TeacherTimetableDto> getWeekLessonsByTeacherId(@PathVariable("teacherId") UUID teacherId,
-                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
-                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate) {
-        return new ResponseEntity<>(lessonService.getWeekLessonsByTeacherId(teacherId, startDate, endDate), HttpStatus.OK);
+    public ResponseEntity<?> getWeekLessonsByTeacherId(@PathVariable("teacherId") UUID teacherId,
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate,
+                                                       WebRequest webRequest) {
+        return getTimetable(TimetableType.TEACHER, teacherId, startDate, endDate, webRequest,
+                () -> lessonService.getWeekLessonsByTeacherId(teacherId, startDate, endDate));
     }
 
     @Operation(summary = "Получить пары, которые проходят в аудитории на неделе.")
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = ClassroomTimetableDto.class)))
     @GetMapping("/classroom/{classroomId}")
-    public ResponseEntity<ClassroomTimetableDto> getWeekLessonsByClassroomId(@PathVariable("classroomId") UUID classroomId,
-                                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
-                                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate) {
-        return new ResponseEntity<>(lessonService.getWeekLessonsByClassroomId(classroomId, startDate, endDate), HttpStatus.OK);
+    public ResponseEntity<?> getWeekLessonsByClassroomId(@PathVariable("classroomId") UUID classroomId,
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate,
+                                                         WebRequest webRequest) {
+        return getTimetable(TimetableType.CLASSROOM, classroomId, startDate, endDate, webRequest,
+                () -> lessonService.getWeekLessonsByClassroomId(classroomId, startDate, endDate));
     }
 
     @Operation(summary = "Получить описание пары.")
@@ -55,4 +81,54 @@ public class ScheduleDisplayController {
         return new ResponseEntity<>(lessonService.getLessonById(id), HttpStatus.OK);
     }
 
+    /**
+     * Метод для формирования ответа с расписанием. {@code ETag} вычисляется по содержимому расписания
+     * и хранится вместе с ним в кэше, поэтому если {@code If-None-Match} совпадает с ним, то возвращается
+     * {@code 304}, а пары загружаются из БД, только если расписания нет в кэше. Если включены снимки расписаний
+     * ({@code timetable.snapshots.enabled}), то в ответ пишутся уже сериализованные байты,
+     * сжатые {@code gzip}, если клиент его поддерживает.
+     *
+     * @param type       тип расписания.
+     * @param id         уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate  дата начала периода.
+     * @param endDate    дата конца периода.
+     * @param webRequest текущий запрос.
+     * @param dtoLoader  загрузчик DTO расписания, используется, если снимки выключены.
+     * @return ответ с расписанием или {@code null}, если ответ {@code 304} уже сформирован.
+     */
+    private ResponseEntity<?> getTimetable(TimetableType type,
+                                           UUID id,
+                                           LocalDate startDate,
+                                           LocalDate endDate,
+                                           WebRequest webRequest,
+                                           Supplier<CachedTimetable<?>> dtoLoader) {
+        if (!snapshotsEnabled) {
+            CachedTimetable<?> timetable = dtoLoader.get();
+
+            if (webRequest.checkNotModified(timetable.getETag())) {
+                return null;
+            }
+
+            return ResponseEntity.ok().eTag(timetable.getETag()).body(timetable.getTimetable());
+        }
+
+        TimetableSnapshot snapshot = lessonService.getTimetableSnapshot(type, id, startDate, endDate);
+
+        if (webRequest.checkNotModified(snapshot.getETag())) {
+            return null;
+        }
+
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+
+        return response.body(snapshot.getJson());
+    }
+
 }
@@ -6,15 +6,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.hits.timeflowapi.dto.ResponseBodyMessage;
 import ru.hits.timeflowapi.dto.lesson.CreateLessonDto;
 import ru.hits.timeflowapi.dto.lesson.CreateLessonForAFewWeeksDto;
 import ru.hits.timeflowapi.dto.lesson.LessonDto;
+import ru.hits.timeflowapi.dto.lesson.importing.LessonImportReportDto;
+import ru.hits.timeflowapi.service.LessonImportService;
 import ru.hits.timeflowapi.service.LessonService;
 
-import javax.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +32,7 @@ import java.util.UUID;
 public class SchedulingController {
 
     private final LessonService lessonService;
+    private final LessonImportService lessonImportService;
 
     @Operation(
             summary = "Добавить пару.",
@@ -47,6 +53,15 @@ public class SchedulingController {
         return new ResponseEntity<>(lessonService.addLessonForAFewWeeks(createLessonForAFewWeeksDto), HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Импортировать пары из JSON-массива или NDJSON.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<LessonImportReportDto> importLessons(HttpServletRequest request) throws IOException {
+        return new ResponseEntity<>(lessonImportService.importLessons(request.getInputStream()), HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Удалить пару.",
             security = @SecurityRequirement(name = "bearerAuth")
@@ -0,0 +1,80 @@
+package ru.hits.timeflowapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.hits.timeflowapi.enumeration.TimetableExportFormat;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.service.TimetableExportService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Выгрузка расписания за произвольный период файлом. Ответ пишется потоково, без {@code Content-Length},
+ * и сжимается {@code gzip}, если клиент это поддерживает (см. {@code server.compression}).
+ */
+@RestController
+@RequestMapping("/api/v1/lessons/export")
+@RequiredArgsConstructor
+@Tag(name = "Выгрузка расписания")
+public class TimetableExportController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final TimetableExportService timetableExportService;
+
+    @Operation(summary = "Выгрузить расписание группы за период.")
+    @GetMapping("/group/{groupId}")
+    public ResponseEntity<StreamingResponseBody> exportGroupTimetable(@PathVariable("groupId") UUID groupId,
+                                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate,
+                                                                      @RequestParam(value = "format", defaultValue = "ICALENDAR") TimetableExportFormat format) {
+        return export(TimetableType.STUDENT_GROUP, groupId, startDate, endDate, format);
+    }
+
+    @Operation(summary = "Выгрузить расписание преподавателя за период.")
+    @GetMapping("/teacher/{teacherId}")
+    public ResponseEntity<StreamingResponseBody> exportTeacherTimetable(@PathVariable("teacherId") UUID teacherId,
+                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate,
+                                                                        @RequestParam(value = "format", defaultValue = "ICALENDAR") TimetableExportFormat format) {
+        return export(TimetableType.TEACHER, teacherId, startDate, endDate, format);
+    }
+
+    @Operation(summary = "Выгрузить расписание аудитории за период.")
+    @GetMapping("/classroom/{classroomId}")
+    public ResponseEntity<StreamingResponseBody> exportClassroomTimetable(@PathVariable("classroomId") UUID classroomId,
+                                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("startDate") LocalDate startDate,
+                                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam("endDate") LocalDate endDate,
+                                                                          @RequestParam(value = "format", defaultValue = "ICALENDAR") TimetableExportFormat format) {
+        return export(TimetableType.CLASSROOM, classroomId, startDate, endDate, format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(TimetableType type,
+                                                         UUID id,
+                                                         LocalDate startDate,
+                                                         LocalDate endDate,
+                                                         TimetableExportFormat format) {
+        StreamingResponseBody body = timetableExportService.export(type, id, startDate, endDate, format);
+        boolean csv = format == TimetableExportFormat.CSV;
+        String fileName = "timetable-" + id + "-" + startDate + "-" + endDate + (csv ? ".csv" : ".ics");
+
+        return ResponseEntity
+                .ok()
+                .contentType(csv ? TEXT_CSV : TEXT_CALENDAR)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+}
@@ -13,7 +13,7 @@ import ru.hits.timeflowapi.enumeration.Role;
 import ru.hits.timeflowapi.service.UserInfoService;
 import ru.hits.timeflowapi.service.helpingservices.CheckEmailService;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 
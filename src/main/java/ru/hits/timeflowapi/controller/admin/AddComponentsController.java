@@ -19,7 +19,7 @@ import ru.hits.timeflowapi.dto.teacher.NewTeacherDto;
 import ru.hits.timeflowapi.dto.teacher.TeacherDto;
 import ru.hits.timeflowapi.service.AddComponentsService;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -1,12 +1,13 @@
 package ru.hits.timeflowapi.controller.admin;
 
-import com.sun.istack.Nullable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
+import ru.hits.timeflowapi.dto.pagination.CursorPageDto;
 import ru.hits.timeflowapi.dto.request.EmployeeRequestDto;
 import ru.hits.timeflowapi.dto.request.StudentRequestDto;
 import ru.hits.timeflowapi.dto.user.EmployeeDto;
@@ -44,6 +45,31 @@ public class ConfirmRequestController {
         );
     }
 
+    @GetMapping("/student-requests/cursor")
+    @Operation(
+            summary = "Получить заявки студентов по курсору.",
+            description = "Постраничный вывод по курсору: в первый запрос курсор не передаётся, "
+                    + "в следующие - nextCursor из предыдущей страницы. Общее количество считается, "
+                    + "только если withTotal = true.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            tags = {"Заявки студентов"}
+    )
+    public CursorPageDto<StudentRequestDto> getStudentRequestsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @RequestParam(required = false, defaultValue = "ASC") Sort.Direction sortDirection,
+            @RequestParam(required = false) Optional<Boolean> isClosed,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal
+    ) {
+        return manageRequestService.getStudentRequestsByCursor(
+                cursor,
+                pageSize,
+                sortDirection,
+                isClosed,
+                withTotal
+        );
+    }
+
     @GetMapping("/student-requests/{id}")
     @Operation(
             summary = "Получить информацию о заявке по ID.",
@@ -94,6 +120,31 @@ public class ConfirmRequestController {
         );
     }
 
+    @GetMapping("/employee-requests/cursor")
+    @Operation(
+            summary = "Получить заявки сотрудников по курсору.",
+            description = "Постраничный вывод по курсору: в первый запрос курсор не передаётся, "
+                    + "в следующие - nextCursor из предыдущей страницы. Общее количество считается, "
+                    + "только если withTotal = true.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            tags = {"Заявки сотрудников"}
+    )
+    public CursorPageDto<EmployeeRequestDto> getEmployeeRequestsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @RequestParam(required = false, defaultValue = "ASC") Sort.Direction sortDirection,
+            @RequestParam(required = false) Optional<Boolean> isClosed,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal
+    ) {
+        return manageRequestService.getEmployeeRequestsByCursor(
+                cursor,
+                pageSize,
+                sortDirection,
+                isClosed,
+                withTotal
+        );
+    }
+
     @GetMapping("employee-requests/{id}")
     @Operation(
             summary = "Получить информацию о заявке по ID.",
@@ -149,6 +200,31 @@ public class ConfirmRequestController {
         );
     }
 
+    @GetMapping("schedule-maker-requests/cursor")
+    @Operation(
+            summary = "Получить заявки составителей расписаний по курсору.",
+            description = "Постраничный вывод по курсору: в первый запрос курсор не передаётся, "
+                    + "в следующие - nextCursor из предыдущей страницы. Общее количество считается, "
+                    + "только если withTotal = true.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            tags = {"Заявки составителей расписаний"}
+    )
+    public CursorPageDto<EmployeeRequestDto> getScheduleMakerRequestsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @RequestParam(required = false, defaultValue = "ASC") Sort.Direction sortDirection,
+            @RequestParam(required = false) Optional<Boolean> isClosed,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal
+    ) {
+        return manageRequestService.getScheduleMakerRequestsByCursor(
+                cursor,
+                pageSize,
+                sortDirection,
+                isClosed,
+                withTotal
+        );
+    }
+
     @GetMapping("schedule-maker-requests/{id}")
     @Operation(
             summary = "Получить информацию о заявке по ID.",
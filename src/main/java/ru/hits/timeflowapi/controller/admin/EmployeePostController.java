@@ -9,7 +9,7 @@ import ru.hits.timeflowapi.dto.employeepost.EmployeePostDto;
 import ru.hits.timeflowapi.dto.employeepost.NewEmployeePostDto;
 import ru.hits.timeflowapi.service.EmployeePostService;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.List;
 
 /**
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.hits.timeflowapi.dto.pagination.CursorPageDto;
 import ru.hits.timeflowapi.dto.user.EmployeeDto;
 import ru.hits.timeflowapi.dto.user.StudentDto;
 import ru.hits.timeflowapi.dto.user.UserDto;
@@ -73,4 +74,70 @@ public class UserDetailsController {
                 sortDirection
         );
     }
+
+    @GetMapping("/users/cursor")
+    @Operation(
+            summary = "Получить внешних пользователей по курсору.",
+            description = "Постраничный вывод по курсору: в первый запрос курсор не передаётся, "
+                    + "в следующие - nextCursor из предыдущей страницы. Общее количество считается, "
+                    + "только если withTotal = true.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    CursorPageDto<UserDto> getUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @RequestParam(required = false, defaultValue = "ASC") Sort.Direction sortDirection,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+
+        return usersService.getUsersByCursor(
+                cursor,
+                pageSize,
+                sortDirection,
+                withTotal
+        );
+    }
+
+    @GetMapping("/students/cursor")
+    @Operation(
+            summary = "Получить студентов по курсору.",
+            description = "Постраничный вывод по курсору: в первый запрос курсор не передаётся, "
+                    + "в следующие - nextCursor из предыдущей страницы. Общее количество считается, "
+                    + "только если withTotal = true.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    CursorPageDto<StudentDto> getStudentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @RequestParam(required = false, defaultValue = "ASC") Sort.Direction sortDirection,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+
+        return usersService.getStudentsByCursor(
+                cursor,
+                pageSize,
+                sortDirection,
+                withTotal
+        );
+    }
+
+    @GetMapping("/employees/cursor")
+    @Operation(
+            summary = "Получить сотрудников по курсору.",
+            description = "Постраничный вывод по курсору: в первый запрос курсор не передаётся, "
+                    + "в следующие - nextCursor из предыдущей страницы. Общее количество считается, "
+                    + "только если withTotal = true.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    CursorPageDto<EmployeeDto> getEmployeesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int pageSize,
+            @RequestParam(required = false, defaultValue = "ASC") Sort.Direction sortDirection,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
+
+        return usersService.getEmployeesByCursor(
+                cursor,
+                pageSize,
+                sortDirection,
+                withTotal
+        );
+    }
 }
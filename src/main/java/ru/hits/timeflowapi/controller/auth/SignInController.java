@@ -13,7 +13,9 @@ import ru.hits.timeflowapi.dto.signin.TokensDto;
 import ru.hits.timeflowapi.security.JWTService;
 import ru.hits.timeflowapi.service.auth.SignInService;
 
-import javax.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -26,8 +28,9 @@ public class SignInController {
 
     @Operation(summary = "Аутентификация пользователя.")
     @PostMapping("/sign-in")
-    public TokensDto signIn(@Valid @RequestBody SignInDto signInDto) {
-        return signInService.signIn(signInDto);
+    public CompletableFuture<TokensDto> signIn(@Valid @RequestBody SignInDto signInDto,
+                                               HttpServletRequest request) {
+        return signInService.signIn(signInDto, request.getRemoteAddr());
     }
 
     @Operation(summary = "Обновление пары токенов.")
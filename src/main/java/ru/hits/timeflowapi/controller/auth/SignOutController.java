@@ -13,7 +13,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.hits.timeflowapi.dto.signin.RefreshTokenDto;
 import ru.hits.timeflowapi.service.auth.SignOutService;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.UUID;
 
 @RestController
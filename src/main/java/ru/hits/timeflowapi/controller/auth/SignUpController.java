@@ -13,7 +13,8 @@ import ru.hits.timeflowapi.dto.signup.StudentSignUpDto;
 import ru.hits.timeflowapi.dto.signup.UserSignUpDto;
 import ru.hits.timeflowapi.service.auth.SignUpService;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -24,25 +25,25 @@ public class SignUpController {
 
     @Operation(summary = "Регистрация внешнего пользователя.")
     @PostMapping("/sign-up/user")
-    public TokensDto userSignUp(@Valid @RequestBody UserSignUpDto userSignUpDto) {
+    public CompletableFuture<TokensDto> userSignUp(@Valid @RequestBody UserSignUpDto userSignUpDto) {
         return signUpService.userSignUp(userSignUpDto);
     }
 
     @Operation(summary = "Регистрация студента.")
     @PostMapping("/sign-up/student")
-    public TokensDto studentSignUp(@Valid @RequestBody StudentSignUpDto studentSignUpDto) {
+    public CompletableFuture<TokensDto> studentSignUp(@Valid @RequestBody StudentSignUpDto studentSignUpDto) {
         return signUpService.studentSignUp(studentSignUpDto);
     }
 
     @Operation(summary = "Регистрация сотрудника.")
     @PostMapping("/sign-up/employee")
-    public TokensDto employeeSignUp(@Valid @RequestBody EmployeeSignUpDto employeeSignUpDto) {
+    public CompletableFuture<TokensDto> employeeSignUp(@Valid @RequestBody EmployeeSignUpDto employeeSignUpDto) {
         return signUpService.employeeSignUp(employeeSignUpDto);
     }
 
     @Operation(summary = "Регистрация сотрудника с должностью составителя расписаний.")
     @PostMapping("/sign-up/employee/schedule-maker")
-    public TokensDto schedulerMakerSignUp(@Valid @RequestBody EmployeeSignUpDto employeeSignUpDto) {
+    public CompletableFuture<TokensDto> schedulerMakerSignUp(@Valid @RequestBody EmployeeSignUpDto employeeSignUpDto) {
         return signUpService.scheduleMakerSignUp(employeeSignUpDto);
     }
 
@@ -0,0 +1,23 @@
+package ru.hits.timeflowapi.dto.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Занятость в один таймслот одного дня. Каждое поле - битовая маска в {@code Base64}: байты идут
+ * от младших битов к старшим, бит {@code i} - это {@code (bytes[i / 8] >> (i % 8)) & 1}.
+ * Установленный бит означает, что соответствующий ресурс занят. Пустая строка - все свободны.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCellDto {
+
+    private String busyClassrooms;
+
+    private String busyTeachers;
+
+    private String busyStudentGroups;
+
+}
@@ -0,0 +1,25 @@
+package ru.hits.timeflowapi.dto.availability;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Занятость за один день. {@code i}-я ячейка соответствует {@code i}-му таймслоту
+ * из {@link AvailabilityMatrixDto#getTimeslots()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDayDto {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private List<AvailabilityCellDto> cells;
+
+}
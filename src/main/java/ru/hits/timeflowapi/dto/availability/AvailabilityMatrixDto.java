@@ -0,0 +1,41 @@
+package ru.hits.timeflowapi.dto.availability;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.hits.timeflowapi.dto.TimeslotDto;
+import ru.hits.timeflowapi.dto.classroom.ClassroomDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupBasicDto;
+import ru.hits.timeflowapi.dto.teacher.TeacherDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Матрица занятости аудиторий, преподавателей и групп студентов за период.
+ * Позиция бита в {@link AvailabilityCellDto} соответствует индексу элемента
+ * в списках {@code classrooms}, {@code teachers} и {@code studentGroups}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatrixDto {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private List<TimeslotDto> timeslots;
+
+    private List<ClassroomDto> classrooms;
+
+    private List<TeacherDto> teachers;
+
+    private List<StudentGroupBasicDto> studentGroups;
+
+    private List<AvailabilityDayDto> days;
+
+}
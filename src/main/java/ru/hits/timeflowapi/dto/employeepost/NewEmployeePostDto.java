@@ -8,8 +8,8 @@ import ru.hits.timeflowapi.util.constants.RegexConstant;
 import ru.hits.timeflowapi.util.validation.annotation.UniquePostNameValidation;
 import ru.hits.timeflowapi.util.validation.annotation.UniquePostRoleValidation;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 
 /**
  * DTO для создания должности сотрудника.
@@ -3,7 +3,7 @@ package ru.hits.timeflowapi.dto.lesson;
 import lombok.*;
 import ru.hits.timeflowapi.enumeration.LessonType;
 
-import javax.validation.constraints.NotNull;
+import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -3,8 +3,8 @@ package ru.hits.timeflowapi.dto.lesson;
 import lombok.*;
 import ru.hits.timeflowapi.enumeration.LessonType;
 
-import javax.validation.constraints.Min;
-import javax.validation.constraints.NotNull;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.util.UUID;
 
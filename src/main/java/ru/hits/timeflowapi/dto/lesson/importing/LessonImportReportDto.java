@@ -0,0 +1,22 @@
+package ru.hits.timeflowapi.dto.lesson.importing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonImportReportDto {
+
+    private int total;
+
+    private int imported;
+
+    private int rejected;
+
+    private List<LessonImportRowResultDto> rows;
+
+}
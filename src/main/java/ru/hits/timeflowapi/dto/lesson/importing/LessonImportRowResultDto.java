@@ -0,0 +1,27 @@
+package ru.hits.timeflowapi.dto.lesson.importing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.hits.timeflowapi.enumeration.LessonImportStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Результат импорта одной строки. Строки нумеруются с нуля в порядке следования во входных данных.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonImportRowResultDto {
+
+    private int row;
+
+    private LessonImportStatus status;
+
+    private UUID lessonId;
+
+    private List<String> errors;
+
+}
@@ -0,0 +1,31 @@
+package ru.hits.timeflowapi.dto.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница, полученная постраничным выводом по ключу.
+ *
+ * @param <T> тип элементов страницы.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CursorPageDto<T> {
+
+    private List<T> content;
+
+    /**
+     * Курсор следующей страницы или {@code null}, если эта страница последняя.
+     */
+    private String nextCursor;
+
+    /**
+     * Общее количество элементов. Заполняется, только если оно было запрошено.
+     */
+    private Long totalElements;
+
+}
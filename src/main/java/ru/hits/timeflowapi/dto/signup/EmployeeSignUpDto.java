@@ -9,7 +9,7 @@ import ru.hits.timeflowapi.util.constants.RegexConstant;
 import ru.hits.timeflowapi.util.validation.annotation.UniqueContractNumberValidation;
 import ru.hits.timeflowapi.util.validation.annotation.UniqueEmailValidation;
 
-import javax.validation.constraints.*;
+import jakarta.validation.constraints.*;
 
 @Schema(description = "Информация о сотруднике")
 @NoArgsConstructor
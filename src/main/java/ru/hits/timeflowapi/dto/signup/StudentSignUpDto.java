@@ -10,7 +10,7 @@ import ru.hits.timeflowapi.util.validation.annotation.ExistStudentGroupValidatio
 import ru.hits.timeflowapi.util.validation.annotation.UniqueEmailValidation;
 import ru.hits.timeflowapi.util.validation.annotation.UniqueStudentNumberValidation;
 
-import javax.validation.constraints.*;
+import jakarta.validation.constraints.*;
 import java.util.UUID;
 
 @Schema(description = "Информация о студенте")
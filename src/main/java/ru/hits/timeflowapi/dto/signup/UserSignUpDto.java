@@ -8,7 +8,7 @@ import ru.hits.timeflowapi.enumeration.Sex;
 import ru.hits.timeflowapi.util.constants.RegexConstant;
 import ru.hits.timeflowapi.util.validation.annotation.UniqueEmailValidation;
 
-import javax.validation.constraints.*;
+import jakarta.validation.constraints.*;
 
 @Schema(description = "Информация о пользователе")
 @NoArgsConstructor
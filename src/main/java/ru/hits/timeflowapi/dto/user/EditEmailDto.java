@@ -5,7 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.Email;
+import jakarta.validation.constraints.Email;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -1,10 +1,11 @@
 package ru.hits.timeflowapi.entity;
 
-import com.sun.istack.Nullable;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.GenericGenerator;
+import org.springframework.lang.Nullable;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,7 +26,12 @@ public class EmployeeDetailsEntity {
     )
     private UUID id;
 
+    /**
+     * Должности загружаются сразу, поэтому при загрузке списка сотрудников они читаются пачками,
+     * а не отдельным запросом на каждого сотрудника.
+     */
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "employee_posts",
             joinColumns = @JoinColumn(name = "employee_id"),
@@ -1,9 +1,11 @@
 package ru.hits.timeflowapi.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,6 +16,8 @@ import java.util.UUID;
 @Setter
 @Builder
 @Table(name = "employee_post")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee_post")
 public class EmployeePostEntity {
     @Id
     @GeneratedValue(generator = "UUID")
@@ -4,7 +4,7 @@ import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
 import ru.hits.timeflowapi.enumeration.LessonType;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -14,9 +14,40 @@ import java.util.UUID;
 @Getter
 @Setter
 @Builder
-@Table(name = "lesson")
+@Table(
+        name = "lesson",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = LessonEntity.TEACHER_SLOT_CONSTRAINT,
+                        columnNames = {"date", "timeslot_id", "teacher_id"}
+                ),
+                @UniqueConstraint(
+                        name = LessonEntity.CLASSROOM_SLOT_CONSTRAINT,
+                        columnNames = {"date", "timeslot_id", "classroom_id"}
+                ),
+                @UniqueConstraint(
+                        name = LessonEntity.STUDENT_GROUP_SLOT_CONSTRAINT,
+                        columnNames = {"date", "timeslot_id", "student_group_id"}
+                )
+        }
+)
 public class LessonEntity {
 
+    /**
+     * Ограничение: у преподавателя не больше одной пары в один таймслот одной даты.
+     */
+    public static final String TEACHER_SLOT_CONSTRAINT = "uk_lesson_date_timeslot_teacher";
+
+    /**
+     * Ограничение: в аудитории не больше одной пары в один таймслот одной даты.
+     */
+    public static final String CLASSROOM_SLOT_CONSTRAINT = "uk_lesson_date_timeslot_classroom";
+
+    /**
+     * Ограничение: у группы студентов не больше одной пары в один таймслот одной даты.
+     */
+    public static final String STUDENT_GROUP_SLOT_CONSTRAINT = "uk_lesson_date_timeslot_student_group";
+
     @Id
     @GeneratedValue(generator = "UUID")
     @GenericGenerator(
@@ -0,0 +1,50 @@
+package ru.hits.timeflowapi.entity;
+
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Сессия пользователя на одном устройстве. Хранит не сам {@code refresh} токен, а его хэш,
+ * поэтому утечка таблицы не даёт возможности обновить чужие токены.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(
+        name = "refresh_session",
+        indexes = {
+                @Index(name = "refresh_session_user_id_idx", columnList = "user_id"),
+                @Index(name = "refresh_session_expires_at_idx", columnList = "expires_at")
+        }
+)
+public class RefreshSessionEntity {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(
+            name = "UUID",
+            strategy = "org.hibernate.id.UUIDGenerator"
+    )
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+}
@@ -6,7 +6,7 @@ import ru.hits.timeflowapi.enumeration.AccountStatus;
 import ru.hits.timeflowapi.enumeration.Role;
 import ru.hits.timeflowapi.enumeration.Sex;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.UUID;
 
 @Entity
@@ -45,12 +45,4 @@ public class UserEntity {
     @Enumerated(EnumType.STRING)
     private Sex sex;
 
-    @OneToOne(mappedBy = "user")
-    private StudentDetailsEntity student;
-
-    @OneToOne(mappedBy = "user")
-    private EmployeeDetailsEntity employee;
-
-    private String refreshToken;
-
 }
@@ -0,0 +1,9 @@
+package ru.hits.timeflowapi.enumeration;
+
+public enum LessonImportStatus {
+
+    IMPORTED,
+
+    REJECTED
+
+}
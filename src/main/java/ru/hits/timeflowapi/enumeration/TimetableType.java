@@ -0,0 +1,11 @@
+package ru.hits.timeflowapi.enumeration;
+
+public enum TimetableType {
+
+    STUDENT_GROUP,
+
+    TEACHER,
+
+    CLASSROOM
+
+}
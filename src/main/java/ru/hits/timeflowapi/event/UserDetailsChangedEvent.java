@@ -0,0 +1,19 @@
+package ru.hits.timeflowapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Событие изменения данных пользователя, от которых зависит аутентификация: статуса аккаунта,
+ * должностей, почты, пароля или сессии. Публикуется после сохранения изменений, слушатели
+ * сбрасывают закэшированные данные пользователя.
+ */
+@Value
+@AllArgsConstructor
+public class UserDetailsChangedEvent {
+
+    UUID userId;
+
+}
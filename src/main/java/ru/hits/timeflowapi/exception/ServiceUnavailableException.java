@@ -0,0 +1,17 @@
+package ru.hits.timeflowapi.exception;
+
+/**
+ * Исключение для случаев, когда сервер временно перегружен и запрос стоит повторить позже.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Конструктор.
+     *
+     * @param message текст исключения.
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,27 @@
+package ru.hits.timeflowapi.exception;
+
+import lombok.Getter;
+
+/**
+ * Исключение для запросов, превысивших допустимую частоту.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Через сколько секунд запрос можно повторить.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Конструктор.
+     *
+     * @param message           текст исключения.
+     * @param retryAfterSeconds через сколько секунд запрос можно повторить.
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -1,7 +1,6 @@
 package ru.hits.timeflowapi.mapper;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import ru.hits.timeflowapi.dto.signup.BasicSignUpUserDetails;
 import ru.hits.timeflowapi.dto.studentgroup.StudentGroupBasicDto;
@@ -18,7 +17,6 @@ import ru.hits.timeflowapi.enumeration.Role;
 @RequiredArgsConstructor
 public class UserMapper {
 
-    private final PasswordEncoder passwordEncoder;
     private final PostMapper postMapper;
 
     public UserDto userToUserDto(UserEntity user) {
@@ -55,6 +53,7 @@ public class UserMapper {
     }
 
     public UserEntity basicSignUpDetailsToUser(BasicSignUpUserDetails basicSignUpUserDetails,
+                                               String encodedPassword,
                                                Role role,
                                                AccountStatus accountStatus
     ) {
@@ -66,7 +65,7 @@ public class UserMapper {
                 .surname(basicSignUpUserDetails.getSurname())
                 .patronymic(basicSignUpUserDetails.getPatronymic())
                 .accountStatus(accountStatus)
-                .password(passwordEncoder.encode(basicSignUpUserDetails.getPassword()))
+                .password(encodedPassword)
                 .sex(basicSignUpUserDetails.getSex())
                 .build();
     }
@@ -1,15 +1,29 @@
 package ru.hits.timeflowapi.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.EmployeeDetailsEntity;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface EmployeeDetailsRepository extends JpaRepository<EmployeeDetailsEntity, UUID> {
 
+    /**
+     * Связи, которые загружаются вместе со страницей сотрудников одним запросом,
+     * чтобы преобразование в DTO не выполняло запросы на каждого из них.
+     */
+    List<String> LISTING_FETCH_PATHS = List.of("user", "teacher");
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "teacher"})
+    Page<EmployeeDetailsEntity> findAll(Pageable pageable);
+
     boolean existsByContractNumber(String contractNumber);
 
     Optional<EmployeeDetailsEntity> findByUserId(UUID userId);
@@ -1,15 +1,30 @@
 package ru.hits.timeflowapi.repository;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.EmployeePostEntity;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface EmployeePostRepository extends JpaRepository<EmployeePostEntity, UUID> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<EmployeePostEntity> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<EmployeePostEntity> findAll(Sort sort);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<EmployeePostEntity> findByPostRole(String postRole);
 
     boolean existsByPostName(String postName);
@@ -0,0 +1,166 @@
+package ru.hits.timeflowapi.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Постраничный вывод по ключу. В отличие от {@code PageRequest} со смещением, следующая страница
+ * ищется условием {@code (key, id) > (:key, :id)} по индексу, поэтому время получения страницы не зависит
+ * от её номера, а общее количество элементов считается, только если его запросили.
+ * <p>
+ * Условие записывается как {@code key >= :key and (key > :key or id > :id)}: первая часть становится
+ * условием поиска по индексу {@code (..., key, id)}, вторая лишь отсекает элементы с тем же ключом,
+ * которые уже были на предыдущей странице.
+ */
+@Repository
+public class KeysetPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Метод для получения страницы.
+     *
+     * @param entityType тип сущности.
+     * @param filter     условия на равенство: путь до поля - значение.
+     * @param fetchPaths пути до связей, которые загружаются тем же запросом.
+     * @param sortPath   путь до поля сортировки, например {@code creationDate} или {@code user.name}.
+     * @param idPath     путь до уникального поля, по которому упорядочиваются элементы с одинаковым ключом.
+     * @param direction  направление сортировки.
+     * @param afterValue значение поля сортировки последнего элемента предыдущей страницы
+     *                   или {@code null} для первой страницы.
+     * @param afterId    уникальный идентификатор последнего элемента предыдущей страницы
+     *                   или {@code null} для первой страницы.
+     * @param limit      максимальное количество элементов.
+     * @param <T>        тип сущности.
+     * @return элементы страницы.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> List<T> findPage(Class<T> entityType,
+                                Map<String, Object> filter,
+                                List<String> fetchPaths,
+                                String sortPath,
+                                String idPath,
+                                Sort.Direction direction,
+                                @Nullable Comparable<?> afterValue,
+                                @Nullable UUID afterId,
+                                int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+
+        List<Predicate> predicates = filterPredicates(criteriaBuilder, root, joins, filter);
+        Expression key = path(root, joins, sortPath);
+        Expression<UUID> id = path(root, joins, idPath);
+
+        if (afterValue != null && afterId != null) {
+            Comparable value = afterValue;
+
+            predicates.add(direction.isAscending()
+                    ? criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(key, value),
+                    criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(key, value),
+                            criteriaBuilder.greaterThan(id, afterId)
+                    ))
+                    : criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(key, value),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(key, value),
+                            criteriaBuilder.lessThan(id, afterId)
+                    )));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(direction.isAscending()
+                        ? List.of(criteriaBuilder.asc(key), criteriaBuilder.asc(id))
+                        : List.of(criteriaBuilder.desc(key), criteriaBuilder.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setHint("jakarta.persistence.loadgraph", entityGraph(entityType, fetchPaths))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Метод для подсчёта всех элементов, подходящих под условия.
+     *
+     * @param entityType тип сущности.
+     * @param filter     условия на равенство: путь до поля - значение.
+     * @return количество элементов.
+     */
+    public long count(Class<?> entityType, Map<String, Object> filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<?> root = query.from(entityType);
+
+        query.select(criteriaBuilder.count(root))
+                .where(filterPredicates(criteriaBuilder, root, new HashMap<>(), filter).toArray(Predicate[]::new));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <T> EntityGraph<T> entityGraph(Class<T> entityType, List<String> fetchPaths) {
+        EntityGraph<T> graph = entityManager.createEntityGraph(entityType);
+        Map<String, Subgraph<?>> subgraphs = new HashMap<>();
+
+        for (String fetchPath : fetchPaths) {
+            int separator = fetchPath.lastIndexOf('.');
+
+            if (separator < 0) {
+                subgraphs.put(fetchPath, graph.addSubgraph(fetchPath));
+            } else {
+                Subgraph<?> parent = subgraphs.get(fetchPath.substring(0, separator));
+                subgraphs.put(fetchPath, parent.addSubgraph(fetchPath.substring(separator + 1)));
+            }
+        }
+
+        return graph;
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder criteriaBuilder,
+                                                    Root<?> root,
+                                                    Map<String, Join<?, ?>> joins,
+                                                    Map<String, Object> filter) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        filter.forEach((attributePath, value) ->
+                predicates.add(criteriaBuilder.equal(path(root, joins, attributePath), value)));
+
+        return predicates;
+    }
+
+    /**
+     * Метод для получения пути до поля. Для каждой связи создаётся одно соединение, общее для всех полей.
+     */
+    private static <Y> Path<Y> path(Root<?> root, Map<String, Join<?, ?>> joins, String attributePath) {
+        String[] attributes = attributePath.split("\\.");
+        From<?, ?> from = root;
+        String joinPath = "";
+
+        for (int i = 0; i < attributes.length - 1; i++) {
+            From<?, ?> parent = from;
+            String attribute = attributes[i];
+
+            joinPath = joinPath + "." + attribute;
+            from = joins.computeIfAbsent(joinPath, key -> parent.join(attribute));
+        }
+
+        return from.get(attributes[attributes.length - 1]);
+    }
+
+}
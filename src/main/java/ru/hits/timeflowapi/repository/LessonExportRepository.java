@@ -0,0 +1,93 @@
+package ru.hits.timeflowapi.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.hits.timeflowapi.enumeration.LessonType;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.repository.projection.LessonExportRow;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Потоковое чтение пар для выгрузки расписания. Строки читаются курсором порциями по
+ * {@code timetable.export.fetch-size} и сразу передаются обработчику, поэтому в памяти
+ * никогда не находится больше одной порции, каким бы длинным ни был период.
+ */
+@Repository
+public class LessonExportRepository {
+
+    private static final String SELECT_LESSONS = "select l.id, l.date, l.lesson_type, " +
+            "ts.begin_time, ts.end_time, s.name as subject_name, " +
+            "t.surname as teacher_surname, t.name as teacher_name, t.patronymic as teacher_patronymic, " +
+            "c.number as classroom_number, g.number as group_number " +
+            "from lesson l " +
+            "join student_group g on g.id = l.student_group_id " +
+            "join subject s on s.id = l.subject_id " +
+            "join teacher t on t.id = l.teacher_id " +
+            "join classroom c on c.id = l.classroom_id " +
+            "join timeslot ts on ts.id = l.timeslot_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LessonExportRepository(DataSource dataSource,
+                                  @Value("${timetable.export.fetch-size}") Integer fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Метод для потокового чтения пар группы студентов, преподавателя или аудитории за период.
+     * Драйвер {@code PostgreSQL} читает порциями только внутри транзакции, поэтому метод
+     * должен вызываться в ней.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @param consumer  обработчик пар, вызывается в порядке даты и номера таймслота.
+     */
+    public void streamByOwnerAndDateBetween(TimetableType type,
+                                            UUID id,
+                                            LocalDate startDate,
+                                            LocalDate endDate,
+                                            Consumer<LessonExportRow> consumer) {
+        jdbcTemplate.query(
+                SELECT_LESSONS + "where l." + ownerColumn(type) + " = ? " +
+                        "and l.date between ? and ? order by l.date, ts.sequence_number",
+                resultSet -> {
+                    String lessonType = resultSet.getString("lesson_type");
+
+                    consumer.accept(new LessonExportRow(
+                            resultSet.getObject("id", UUID.class),
+                            resultSet.getDate("date").toLocalDate(),
+                            resultSet.getString("begin_time"),
+                            resultSet.getString("end_time"),
+                            resultSet.getString("subject_name"),
+                            lessonType == null ? null : LessonType.valueOf(lessonType),
+                            resultSet.getString("teacher_surname"),
+                            resultSet.getString("teacher_name"),
+                            resultSet.getString("teacher_patronymic"),
+                            resultSet.getString("classroom_number"),
+                            resultSet.getInt("group_number")
+                    ));
+                },
+                id,
+                Date.valueOf(startDate),
+                Date.valueOf(endDate)
+        );
+    }
+
+    private static String ownerColumn(TimetableType type) {
+        return switch (type) {
+            case STUDENT_GROUP -> "student_group_id";
+            case TEACHER -> "teacher_id";
+            case CLASSROOM -> "classroom_id";
+        };
+    }
+
+}
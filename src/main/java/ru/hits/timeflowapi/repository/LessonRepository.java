@@ -1,50 +1,68 @@
 package ru.hits.timeflowapi.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.*;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface LessonRepository extends JpaRepository<LessonEntity, UUID> {
 
-    List<LessonEntity> findByStudentGroupAndDateIsBetweenOrderByDate(
-            StudentGroupEntity studentGroupId, LocalDate startDate, LocalDate endDate
+    @EntityGraph(attributePaths = {"studentGroup", "subject", "teacher", "classroom", "timeslot"})
+    List<LessonEntity> findByStudentGroupIdAndDateIsBetweenOrderByDate(
+            UUID studentGroupId, LocalDate startDate, LocalDate endDate
     );
 
-    List<LessonEntity> findByTeacherAndDateIsBetweenOrderByDate(
-            TeacherEntity teacher, LocalDate startDate, LocalDate endDate
+    @EntityGraph(attributePaths = {"studentGroup", "subject", "teacher", "classroom", "timeslot"})
+    List<LessonEntity> findByTeacherIdAndDateIsBetweenOrderByDate(
+            UUID teacherId, LocalDate startDate, LocalDate endDate
     );
 
-    List<LessonEntity> findByClassroomAndDateIsBetweenOrderByDate(
-            ClassroomEntity classroom, LocalDate startDate, LocalDate endDate
+    @EntityGraph(attributePaths = {"studentGroup", "subject", "teacher", "classroom", "timeslot"})
+    List<LessonEntity> findByClassroomIdAndDateIsBetweenOrderByDate(
+            UUID classroomId, LocalDate startDate, LocalDate endDate
     );
 
     List<LessonEntity> findByStudentGroupAndDateBetween(StudentGroupEntity studentGroup,
                                                         LocalDate startDate, LocalDate endDate);
 
-    LessonEntity findByTimeslotAndTeacherAndDate(
-            Optional<TimeslotEntity> timeslot, Optional<TeacherEntity> teacher, LocalDate date);
+    boolean existsByDateAndTimeslotIdAndTeacherId(LocalDate date, UUID timeslotId, UUID teacherId);
 
-    LessonEntity findByTimeslotIdAndTeacherAndDate(UUID timeslotId, TeacherEntity teacher, LocalDate date);
+    boolean existsByDateAndTimeslotIdAndClassroomId(LocalDate date, UUID timeslotId, UUID classroomId);
 
-    LessonEntity findByTimeslotAndClassroomAndDate(
-            Optional<TimeslotEntity> timeslot, Optional<ClassroomEntity> classroom, LocalDate date
-    );
+    boolean existsByDateAndTimeslotIdAndStudentGroupId(LocalDate date, UUID timeslotId, UUID studentGroupId);
 
-    LessonEntity findByTimeslotIdAndClassroomAndDate(
-            UUID timeslotId, ClassroomEntity classroom, LocalDate date
-    );
+    long countByDateAndTimeslotId(LocalDate date, UUID timeslotId);
 
-    LessonEntity findByTimeslotAndStudentGroupAndDate(
-            Optional<TimeslotEntity> timeslot, Optional<StudentGroupEntity> studentGroup, LocalDate date);
+    @Query("select new ru.hits.timeflowapi.repository.projection.LessonSlot("
+            + "l.date, l.timeslot.id, l.teacher.id, l.classroom.id, l.studentGroup.id) "
+            + "from LessonEntity l where l.date = :date")
+    List<LessonSlot> findSlotsByDate(@Param("date") LocalDate date);
 
-    LessonEntity findByTimeslotAndStudentGroupIdAndDate(
-            TimeslotEntity timeslot, UUID studentGroupId, LocalDate date
-    );
+    @Query("select new ru.hits.timeflowapi.repository.projection.LessonSlot("
+            + "l.date, l.timeslot.id, l.teacher.id, l.classroom.id, l.studentGroup.id) "
+            + "from LessonEntity l where l.date between :startDate and :endDate")
+    List<LessonSlot> findSlotsByDateBetween(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    @Query("select new ru.hits.timeflowapi.repository.projection.LessonSlot("
+            + "l.date, l.timeslot.id, l.teacher.id, l.classroom.id, l.studentGroup.id) "
+            + "from LessonEntity l where l.timeslot.id = :timeslotId and l.date in :dates "
+            + "and (l.teacher.id = :teacherId or l.classroom.id = :classroomId "
+            + "or l.studentGroup.id = :studentGroupId) "
+            + "order by l.date")
+    List<LessonSlot> findConflictingSlots(@Param("timeslotId") UUID timeslotId,
+                                          @Param("dates") Collection<LocalDate> dates,
+                                          @Param("teacherId") UUID teacherId,
+                                          @Param("classroomId") UUID classroomId,
+                                          @Param("studentGroupId") UUID studentGroupId);
 
 }
@@ -0,0 +1,47 @@
+package ru.hits.timeflowapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hits.timeflowapi.entity.RefreshSessionEntity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface RefreshSessionRepository extends JpaRepository<RefreshSessionEntity, UUID> {
+
+    /**
+     * Метод для удаления сессии по хэшу её {@code refresh} токена. Удаление и проверка существования
+     * выполняются одним запросом, поэтому один и тот же токен не может быть использован дважды.
+     *
+     * @param userId    {@code id} владельца сессии.
+     * @param tokenHash хэш {@code refresh} токена.
+     * @param now       текущий момент, истёкшие сессии не удаляются и считаются невалидными.
+     * @return количество удалённых сессий: {@code 1}, если сессия была активна, иначе {@code 0}.
+     */
+    @Modifying
+    @Query("delete from RefreshSessionEntity s " +
+            "where s.tokenHash = :tokenHash and s.user.id = :userId and s.expiresAt > :now")
+    int deleteActive(@Param("userId") UUID userId,
+                     @Param("tokenHash") String tokenHash,
+                     @Param("now") Instant now);
+
+    /**
+     * Метод для удаления порции истёкших сессий.
+     *
+     * @param now       текущий момент.
+     * @param batchSize максимальное количество удаляемых сессий.
+     * @return количество удалённых сессий.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from refresh_session where id in (" +
+            "select id from refresh_session where expires_at <= :now limit :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+}
@@ -1,15 +1,29 @@
 package ru.hits.timeflowapi.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.StudentDetailsEntity;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface StudentDetailsRepository extends JpaRepository<StudentDetailsEntity, UUID> {
 
+    /**
+     * Связи, которые загружаются вместе со страницей студентов одним запросом,
+     * чтобы преобразование в DTO не выполняло запросы на каждого из них.
+     */
+    List<String> LISTING_FETCH_PATHS = List.of("user", "group");
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "group"})
+    Page<StudentDetailsEntity> findAll(Pageable pageable);
+
     boolean existsByStudentNumber(String studentNumber);
 
     Optional<StudentDetailsEntity> findByUserId(UUID userId);
@@ -1,13 +1,27 @@
 package ru.hits.timeflowapi.repository;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.SubjectEntity;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface SubjectRepository extends JpaRepository<SubjectEntity, UUID> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<SubjectEntity> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<SubjectEntity> findAll(Sort sort);
+
     Boolean existsAllByName(String name);
 }
@@ -1,12 +1,27 @@
 package ru.hits.timeflowapi.repository;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.TeacherEntity;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface TeacherRepository extends JpaRepository<TeacherEntity, UUID> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<TeacherEntity> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<TeacherEntity> findAll(Sort sort);
+
     Boolean existsAllByNameAndSurnameAndPatronymic(String name, String surname, String patronymic);
 }
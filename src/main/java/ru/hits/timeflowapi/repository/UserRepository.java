@@ -3,7 +3,11 @@ package ru.hits.timeflowapi.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.hits.timeflowapi.entity.UserEntity;
 import ru.hits.timeflowapi.enumeration.Role;
 
@@ -17,12 +21,24 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
 
     Optional<UserEntity> findByEmailAndPassword(String email, String password);
 
-    Optional<UserEntity> findByIdAndRefreshToken(UUID uuid, String refreshToken);
-
     Page<UserEntity> findAllByRole(Pageable pageable, Role role);
 
     boolean existsByEmail(String email);
 
-    boolean existsByIdAndRefreshToken(UUID id, String refreshToken);
+    /**
+     * Метод для замены хэша пароля. Хэш заменяется, только если он не изменился с момента чтения,
+     * чтобы не затереть пароль, изменённый параллельно.
+     *
+     * @param id          {@code id} пользователя.
+     * @param oldPassword прочитанный ранее хэш пароля.
+     * @param newPassword новый хэш пароля.
+     * @return количество обновлённых пользователей.
+     */
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") UUID id,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 
 }
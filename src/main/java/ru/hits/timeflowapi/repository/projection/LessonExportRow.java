@@ -0,0 +1,40 @@
+package ru.hits.timeflowapi.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import ru.hits.timeflowapi.enumeration.LessonType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Пара в том виде, в котором она выгружается в файл расписания: только отображаемые поля,
+ * без вложенных сущностей.
+ */
+@Value
+@AllArgsConstructor
+public class LessonExportRow {
+
+    UUID id;
+
+    LocalDate date;
+
+    String beginTime;
+
+    String endTime;
+
+    String subjectName;
+
+    LessonType lessonType;
+
+    String teacherSurname;
+
+    String teacherName;
+
+    String teacherPatronymic;
+
+    String classroomNumber;
+
+    int studentGroupNumber;
+
+}
@@ -0,0 +1,44 @@
+package ru.hits.timeflowapi.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import ru.hits.timeflowapi.entity.LessonEntity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Место пары в расписании: дата, таймслот и занятые ею преподаватель, аудитория и группа студентов.
+ * Используется как проекция запросов к таблице пар, когда сами сущности не нужны.
+ */
+@Value
+@AllArgsConstructor
+public class LessonSlot {
+
+    LocalDate date;
+
+    UUID timeslotId;
+
+    UUID teacherId;
+
+    UUID classroomId;
+
+    UUID studentGroupId;
+
+    /**
+     * Метод для получения места пары в расписании по сущности пары.
+     *
+     * @param lesson сущность пары.
+     * @return место пары в расписании.
+     */
+    public static LessonSlot of(LessonEntity lesson) {
+        return new LessonSlot(
+                lesson.getDate(),
+                lesson.getTimeslot().getId(),
+                lesson.getTeacher().getId(),
+                lesson.getClassroom().getId(),
+                lesson.getStudentGroup().getId()
+        );
+    }
+
+}
@@ -0,0 +1,150 @@
+package ru.hits.timeflowapi.repository.reactive;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.hits.timeflowapi.dto.SubjectDto;
+import ru.hits.timeflowapi.dto.TimeslotDto;
+import ru.hits.timeflowapi.dto.classroom.ClassroomDto;
+import ru.hits.timeflowapi.dto.lesson.LessonDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupBasicDto;
+import ru.hits.timeflowapi.dto.teacher.TeacherDto;
+import ru.hits.timeflowapi.enumeration.LessonType;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Неблокирующий доступ к парам только для чтения. Пары читаются одним запросом вместе со всеми
+ * связанными сущностями и сразу отображаются в DTO, минуя {@code JPA}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveLessonRepository {
+
+    private static final String SELECT_LESSONS = "select l.id, l.date, l.lesson_type, " +
+            "g.id as group_id, g.number as group_number, " +
+            "s.id as subject_id, s.name as subject_name, " +
+            "t.id as teacher_id, t.name as teacher_name, t.surname as teacher_surname, " +
+            "t.patronymic as teacher_patronymic, " +
+            "c.id as classroom_id, c.number as classroom_number, " +
+            "ts.id as timeslot_id, ts.sequence_number, ts.begin_time, ts.end_time " +
+            "from lesson l " +
+            "join student_group g on g.id = l.student_group_id " +
+            "join subject s on s.id = l.subject_id " +
+            "join teacher t on t.id = l.teacher_id " +
+            "join classroom c on c.id = l.classroom_id " +
+            "join timeslot ts on ts.id = l.timeslot_id ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Метод для получения пар группы студентов, преподавателя или аудитории за период.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return пары, упорядоченные по дате.
+     */
+    public Flux<LessonDto> findByOwnerAndDateBetween(TimetableType type,
+                                                     UUID id,
+                                                     LocalDate startDate,
+                                                     LocalDate endDate) {
+        return databaseClient
+                .sql(SELECT_LESSONS + "where l." + ownerColumn(type) + " = :id " +
+                        "and l.date between :startDate and :endDate order by l.date")
+                .bind("id", id)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> toLessonDto(row))
+                .all();
+    }
+
+    /**
+     * Метод для получения пары по {@code id}.
+     *
+     * @param id уникальный идентификатор пары.
+     * @return пара или пустой {@link Mono}, если её нет.
+     */
+    public Mono<LessonDto> findById(UUID id) {
+        return databaseClient
+                .sql(SELECT_LESSONS + "where l.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toLessonDto(row))
+                .one();
+    }
+
+    public Mono<StudentGroupBasicDto> findStudentGroupById(UUID id) {
+        return databaseClient
+                .sql("select id, number from student_group where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> new StudentGroupBasicDto(
+                        row.get("id", UUID.class),
+                        row.get("number", Integer.class)
+                ))
+                .one();
+    }
+
+    public Mono<TeacherDto> findTeacherById(UUID id) {
+        return databaseClient
+                .sql("select id, name, surname, patronymic from teacher where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> new TeacherDto(
+                        row.get("id", UUID.class),
+                        row.get("name", String.class),
+                        row.get("surname", String.class),
+                        row.get("patronymic", String.class)
+                ))
+                .one();
+    }
+
+    public Mono<ClassroomDto> findClassroomById(UUID id) {
+        return databaseClient
+                .sql("select id, number from classroom where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> new ClassroomDto(
+                        row.get("id", UUID.class),
+                        row.get("number", String.class)
+                ))
+                .one();
+    }
+
+    private static String ownerColumn(TimetableType type) {
+        return switch (type) {
+            case STUDENT_GROUP -> "student_group_id";
+            case TEACHER -> "teacher_id";
+            case CLASSROOM -> "classroom_id";
+        };
+    }
+
+    private static LessonDto toLessonDto(Row row) {
+        String lessonType = row.get("lesson_type", String.class);
+
+        return new LessonDto(
+                row.get("id", UUID.class),
+                new StudentGroupBasicDto(row.get("group_id", UUID.class), row.get("group_number", Integer.class)),
+                new SubjectDto(row.get("subject_id", UUID.class), row.get("subject_name", String.class)),
+                new TeacherDto(
+                        row.get("teacher_id", UUID.class),
+                        row.get("teacher_name", String.class),
+                        row.get("teacher_surname", String.class),
+                        row.get("teacher_patronymic", String.class)
+                ),
+                new ClassroomDto(row.get("classroom_id", UUID.class), row.get("classroom_number", String.class)),
+                new TimeslotDto(
+                        row.get("timeslot_id", UUID.class),
+                        row.get("sequence_number", Integer.class),
+                        row.get("begin_time", String.class),
+                        row.get("end_time", String.class)
+                ),
+                row.get("date", LocalDate.class),
+                lessonType == null ? null : LessonType.valueOf(lessonType)
+        );
+    }
+
+}
@@ -2,15 +2,28 @@ package ru.hits.timeflowapi.repository.requestconfirm;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.requestconfirm.EmployeeRequestEntity;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface EmployeeRequestRepository extends JpaRepository<EmployeeRequestEntity, UUID> {
 
+    /**
+     * Связи, которые загружаются вместе со страницей заявок одним запросом,
+     * чтобы преобразование заявок в DTO не выполняло запросы на каждую заявку.
+     */
+    List<String> LISTING_FETCH_PATHS = List.of("employeeDetails", "employeeDetails.user", "employeeDetails.teacher");
+
+    @EntityGraph(attributePaths = {"employeeDetails", "employeeDetails.user", "employeeDetails.teacher"})
     Page<EmployeeRequestEntity> findAllByIsClosed(Pageable pageable, boolean isClosed);
 
+    @Override
+    @EntityGraph(attributePaths = {"employeeDetails", "employeeDetails.user", "employeeDetails.teacher"})
+    Page<EmployeeRequestEntity> findAll(Pageable pageable);
+
 }
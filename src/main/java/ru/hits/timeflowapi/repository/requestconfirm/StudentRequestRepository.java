@@ -2,15 +2,28 @@ package ru.hits.timeflowapi.repository.requestconfirm;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.hits.timeflowapi.entity.requestconfirm.StudentRequestEntity;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface StudentRequestRepository extends JpaRepository<StudentRequestEntity, UUID> {
 
+    /**
+     * Связи, которые загружаются вместе со страницей заявок одним запросом,
+     * чтобы преобразование заявок в DTO не выполняло запросы на каждую заявку.
+     */
+    List<String> LISTING_FETCH_PATHS = List.of("studentDetails", "studentDetails.user", "studentDetails.group");
+
+    @EntityGraph(attributePaths = {"studentDetails", "studentDetails.user", "studentDetails.group"})
     Page<StudentRequestEntity> findAllByIsClosed(Pageable pageable, boolean isClosed);
 
+    @Override
+    @EntityGraph(attributePaths = {"studentDetails", "studentDetails.user", "studentDetails.group"})
+    Page<StudentRequestEntity> findAll(Pageable pageable);
+
 }
@@ -0,0 +1,27 @@
+package ru.hits.timeflowapi.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Полезная нагрузка проверенного {@code access} токена.
+ */
+@Value
+@AllArgsConstructor
+public class AccessTokenClaims {
+
+    UUID id;
+
+    /**
+     * Полномочия пользователя на момент выпуска токена. {@code null}, если токен выпущен
+     * до того, как полномочия стали в него записываться.
+     */
+    List<String> authorities;
+
+    Instant issuedAt;
+
+}
@@ -0,0 +1,63 @@
+package ru.hits.timeflowapi.security;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Подбор стоимости {@code BCrypt} под целевое время хэширования на текущем железе.
+ * Каждая следующая единица стоимости удваивает время хэширования, поэтому достаточно
+ * измерить одну стоимость и экстраполировать.
+ */
+@UtilityClass
+@Slf4j
+public class BCryptStrengthCalibrator {
+
+    /**
+     * Минимальная стоимость. Совпадает со стоимостью по умолчанию, чтобы калибровка
+     * на медленной машине не ослабляла хэши.
+     */
+    public static final int MIN_STRENGTH = 10;
+
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int SAMPLES = 3;
+
+    /**
+     * Метод для подбора стоимости.
+     *
+     * @param targetLatency целевое время хэширования одного пароля.
+     * @return максимальная стоимость из диапазона [{@value MIN_STRENGTH}, {@value MAX_STRENGTH}],
+     * при которой время хэширования не превышает целевое.
+     */
+    public static int calibrate(Duration targetLatency) {
+        String salt = BCrypt.gensalt(MIN_STRENGTH);
+        long[] samples = new long[SAMPLES];
+
+        BCrypt.hashpw("calibration", salt);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+        long estimate = samples[SAMPLES / 2];
+        int strength = MIN_STRENGTH;
+
+        while (strength < MAX_STRENGTH && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            strength++;
+        }
+
+        log.info("Стоимость BCrypt: {}, ожидаемое время хэширования: {} мс",
+                strength, Duration.ofNanos(estimate).toMillis());
+
+        return strength;
+    }
+
+}
@@ -5,19 +5,27 @@ import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.hits.timeflowapi.dto.signin.TokensDto;
 import ru.hits.timeflowapi.entity.UserEntity;
 import ru.hits.timeflowapi.exception.AccessTokenNotValidException;
 import ru.hits.timeflowapi.exception.RefreshTokenNotValidException;
 import ru.hits.timeflowapi.exception.UnauthorizedException;
 import ru.hits.timeflowapi.repository.UserRepository;
+import ru.hits.timeflowapi.util.TokenHashes;
 
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -26,6 +34,8 @@ import java.util.UUID;
 public class JWTService {
 
     private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RefreshSessionService refreshSessionService;
 
     @Value("${token.access.secret-key}")
     private String accessSecret;
@@ -44,26 +54,89 @@ public class JWTService {
 
     private static final String UNAUTHORIZED_MESSAGE = "Не авторизован.";
 
+    private static final String ID_CLAIM = "id";
+
+    private static final String AUTHORITIES_CLAIM = "authorities";
+
+    @Value("${token.access.verified-cache-size}")
+    private Long verifiedCacheSize;
+
+    private Algorithm accessAlgorithm;
+
+    private Algorithm refreshAlgorithm;
+
+    private JWTVerifier accessVerifier;
+
+    private JWTVerifier refreshVerifier;
+
+    /**
+     * Недавно проверенные {@code access} токены. Ключ - {@code SHA-256} хеш токена, поэтому попадание в кэш
+     * означает, что именно эта строка уже прошла проверку подписи, а сами токены в памяти не хранятся.
+     * Срок действия проверяется при каждом обращении.
+     */
+    private Cache<String, VerifiedAccessToken> verifiedAccessTokens;
+
+    /**
+     * Подготовка алгоритмов подписи и верификаторов. Они потокобезопасны, поэтому создаются один раз,
+     * а не на каждый токен.
+     */
+    @PostConstruct
+    private void init() {
+        accessAlgorithm = Algorithm.HMAC256(accessSecret);
+        refreshAlgorithm = Algorithm.HMAC256(refreshSecret);
+        accessVerifier = JWT.require(accessAlgorithm).withIssuer(issuer).build();
+        refreshVerifier = JWT.require(refreshAlgorithm).withIssuer(issuer).build();
+        verifiedAccessTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofMinutes(accessLifeTime))
+                .executor(Runnable::run)
+                .build();
+    }
+
     /**
      * Метод для генерации {@code access} токена.
      *
-     * @param id {@code id} пользователя.
+     * @param id          {@code id} пользователя.
+     * @param authorities полномочия пользователя, которые будут записаны в токен.
      * @return {@code access} токена.
      */
-    public String generateAccessToken(UUID id) {
-        return generateToken(id, accessSecret, accessLifeTime);
+    public String generateAccessToken(UUID id, List<String> authorities) {
+        return JWT
+                .create()
+                .withClaim(ID_CLAIM, id.toString())
+                .withClaim(AUTHORITIES_CLAIM, authorities)
+                .withIssuedAt(new Date())
+                .withExpiresAt(Date.from(ZonedDateTime.now().plusMinutes(accessLifeTime).toInstant()))
+                .withIssuer(issuer)
+                .sign(accessAlgorithm);
     }
 
     /**
-     * Метод для верификации {@code access} токена и получения из него {@code id} пользователя.
+     * Метод для верификации {@code access} токена и получения из него полезной нагрузки.
      *
      * @param token {@code access} токен
-     * @return {@code id}  пользователя из полезной нагрузки токена.
+     * @return {@code id}, полномочия пользователя и момент выпуска токена.
      * @throws AccessTokenNotValidException возникает, если токен невалиден.
      */
-    public UUID verifyAccessTokenAndGetId(String token) throws UnauthorizedException {
+    public AccessTokenClaims verifyAccessToken(String token) throws UnauthorizedException {
         try {
-            return verifyAndExtractId(token, accessSecret);
+            String tokenHash = token == null ? null : TokenHashes.sha256(token);
+            VerifiedAccessToken verified = tokenHash == null ? null : verifiedAccessTokens.getIfPresent(tokenHash);
+
+            if (verified != null && verified.expiresAt().isAfter(Instant.now())) {
+                return verified.claims();
+            }
+
+            DecodedJWT decodedJWT = verify(token, accessVerifier);
+            AccessTokenClaims claims = new AccessTokenClaims(
+                    UUID.fromString(decodedJWT.getClaim(ID_CLAIM).asString()),
+                    decodedJWT.getClaim(AUTHORITIES_CLAIM).asList(String.class),
+                    decodedJWT.getIssuedAtAsInstant()
+            );
+
+            verifiedAccessTokens.put(tokenHash, new VerifiedAccessToken(claims, decodedJWT.getExpiresAtAsInstant()));
+
+            return claims;
         } catch (JWTVerificationException exception) {
             log.error("Исключение во время верификации access токена.", exception);
 
@@ -72,17 +145,19 @@ public class JWTService {
     }
 
     /**
-     * Метод для обновления пары токенов.
+     * Метод для обновления пары токенов. Сессия, которой принадлежит {@code refresh} токен,
+     * заменяется новой, поэтому каждый {@code refresh} токен можно использовать только один раз.
      *
      * @param refreshToken {@code refresh} токен.
      * @return пара {@code access} и {@code refresh} токенов.
      * @throws RefreshTokenNotValidException возникает, если refresh токен невалиден.
      */
+    @Transactional
     public TokensDto updateTokens(String refreshToken) throws UnauthorizedException {
         try {
-            UUID id = verifyAndExtractId(refreshToken, refreshSecret);
+            UUID id = verifyAndExtractId(refreshToken, refreshVerifier);
 
-            if (!userRepository.existsByIdAndRefreshToken(id, refreshToken)) {
+            if (!refreshSessionService.revoke(id, refreshToken)) {
                 throw new RefreshTokenNotValidException("Невалидный refresh токен.");
             }
 
@@ -94,76 +169,86 @@ public class JWTService {
     }
 
     /**
-     * Метод для генерации пары {@code refresh} {@code access} токена.
+     * Метод для генерации пары {@code refresh} {@code access} токена. Для пары создаётся новая сессия.
      *
      * @param userID {@code id} пользователя.
      * @return пара {@code access} и {@code refresh} токенов.
      * @throws UnauthorizedException возникает, если токен подделан, или пользователь
      *                               не найден по {@code ID} из полезной нагрузки токена.
      */
+    @Transactional
     public TokensDto generateTokens(UUID userID) throws UnauthorizedException {
         UserEntity user = userRepository.findById(userID).orElseThrow(() -> {
             throw new UnauthorizedException(UNAUTHORIZED_MESSAGE);
         });
 
-        String newRefreshToken = generateToken(userID, refreshSecret, refreshLifeTime);
+        String newRefreshToken = generateToken(userID, refreshAlgorithm, refreshLifeTime);
+        UserDetailsImpl userDetails = userDetailsService.loadUser(user);
 
-        user.setRefreshToken(newRefreshToken);
-        user = userRepository.save(user);
+        refreshSessionService.create(user, newRefreshToken);
 
         return new TokensDto(
-                generateAccessToken(userID),
-                user.getRefreshToken(),
+                generateAccessToken(userID, userDetails.getAuthorityNames()),
+                newRefreshToken,
                 Date.from(ZonedDateTime.now().plusMinutes(accessLifeTime).toInstant())
         );
     }
 
     /**
-     * Метод для генерации токена.
+     * Метод для генерации токена. Каждый токен получает уникальный {@code jti}, чтобы токены,
+     * выпущенные одному пользователю в одну секунду, не совпадали.
      *
-     * @param userId   {@code id} пользователя.
-     * @param secret   секретный ключ для шифрования токена.
-     * @param lifeTime время жизни токена.
+     * @param userId    {@code id} пользователя.
+     * @param algorithm алгоритм подписи токена.
+     * @param lifeTime  время жизни токена.
      * @return токен.
      */
-    private String generateToken(UUID userId, String secret, Integer lifeTime) {
+    private String generateToken(UUID userId, Algorithm algorithm, Integer lifeTime) {
         Date issuedAt = new Date();
         Date expirationDate = Date.from(ZonedDateTime.now().plusMinutes(lifeTime).toInstant());
 
         return JWT
                 .create()
-                .withClaim("id", userId.toString())
+                .withClaim(ID_CLAIM, userId.toString())
+                .withJWTId(UUID.randomUUID().toString())
                 .withIssuedAt(issuedAt)
                 .withExpiresAt(expirationDate)
                 .withIssuer(issuer)
-                .sign(Algorithm.HMAC256(secret));
+                .sign(algorithm);
     }
 
     /**
      * Метод для верификации токена и извлечению {@code ID} пользователя из него.
      *
-     * @param token  {@code access} или {@code refresh} токен.
-     * @param secret секретный ключ, с помощью которого токен был закодирован.
+     * @param token    {@code access} или {@code refresh} токен.
+     * @param verifier верификатор токенов этого типа.
      * @return id пользователя.
      * @throws JWTVerificationException возникает, если токен был подделан, истёк, пуст.
      */
-    private UUID verifyAndExtractId(String token, String secret) throws JWTVerificationException {
+    private UUID verifyAndExtractId(String token, JWTVerifier verifier) throws JWTVerificationException {
+        return UUID.fromString(verify(token, verifier)
+                .getClaim(ID_CLAIM)
+                .asString()
+        );
+    }
+
+    /**
+     * Метод для верификации токена.
+     *
+     * @param token    {@code access} или {@code refresh} токен.
+     * @param verifier верификатор токенов этого типа.
+     * @return декодированный токен.
+     * @throws JWTVerificationException возникает, если токен был подделан, истёк, пуст.
+     */
+    private DecodedJWT verify(String token, JWTVerifier verifier) throws JWTVerificationException {
         if (token == null || token.isBlank()) {
             throw new JWTVerificationException("Токен пустой");
         }
 
-        JWTVerifier verifier = JWT
-                .require(Algorithm.HMAC256(secret))
-                .withIssuer(issuer)
-                .build();
-
-        DecodedJWT decodedJWT = verifier.verify(token);
-
-        return UUID.fromString(decodedJWT
-                .getClaim("id")
-                .asString()
-        );
+        return verifier.verify(token);
+    }
 
+    private record VerifiedAccessToken(AccessTokenClaims claims, Instant expiresAt) {
     }
 
 }
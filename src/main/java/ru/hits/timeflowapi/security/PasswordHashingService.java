@@ -0,0 +1,149 @@
+package ru.hits.timeflowapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import ru.hits.timeflowapi.exception.ServiceUnavailableException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Сервис для хэширования и проверки паролей. {@code BCrypt} намеренно медленный, поэтому
+ * работа выполняется на отдельном пуле потоков с ограниченной очередью, а не на потоках {@code Tomcat}.
+ * Если очередь заполнена, то запрос сразу отклоняется с {@link ServiceUnavailableException},
+ * вместо того чтобы копить ожидающие запросы.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService {
+
+    private static final String OVERLOADED_MESSAGE = "Сервер перегружен, повторите попытку позже.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Количество потоков. Если не больше нуля, то используется количество процессоров,
+     * так как хэширование нагружает только процессор.
+     */
+    @Value("${password.hashing.threads}")
+    private Integer threads;
+
+    @Value("${password.hashing.queue-capacity}")
+    private Integer queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer encodeTimer;
+
+    private Timer matchesTimer;
+
+    private Timer waitTimer;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    private void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Количество задач хэширования, ожидающих в очереди")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Количество выполняющихся задач хэширования")
+                .register(meterRegistry);
+        encodeTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        matchesTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("password.hashing.wait")
+                .description("Время ожидания задачи хэширования в очереди")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Метод для хэширования пароля.
+     *
+     * @param rawPassword пароль.
+     * @return future с хэшем пароля.
+     * @throws ServiceUnavailableException возникает, если очередь хэширования заполнена.
+     */
+    public CompletableFuture<String> encode(String rawPassword) throws ServiceUnavailableException {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Метод для проверки пароля.
+     *
+     * @param rawPassword     пароль.
+     * @param encodedPassword хэш пароля из БД.
+     * @return future с результатом проверки.
+     * @throws ServiceUnavailableException возникает, если очередь хэширования заполнена.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword)
+            throws ServiceUnavailableException {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Метод для проверки того, что хэш получен с меньшей стоимостью, чем текущая, и его стоит пересчитать.
+     *
+     * @param encodedPassword хэш пароля из БД.
+     * @return {@code true}, если хэш нужно пересчитать.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.record(task);
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            rejectedCounter.increment();
+            log.warn("Очередь хэширования паролей заполнена, запрос отклонён.");
+
+            throw new ServiceUnavailableException(OVERLOADED_MESSAGE);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package ru.hits.timeflowapi.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.hits.timeflowapi.entity.RefreshSessionEntity;
+import ru.hits.timeflowapi.entity.UserEntity;
+import ru.hits.timeflowapi.repository.RefreshSessionRepository;
+import ru.hits.timeflowapi.util.TokenHashes;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Сервис для работы с сессиями пользователей. Каждый вход создаёт отдельную сессию,
+ * поэтому пользователь может быть авторизован на нескольких устройствах одновременно,
+ * а выдача токенов не изменяет строку пользователя.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshSessionService {
+
+    private final RefreshSessionRepository refreshSessionRepository;
+
+    @Value("${token.refresh.lifetime-min}")
+    private Integer refreshLifeTime;
+
+    @Value("${token.refresh.cleanup.batch-size}")
+    private Integer cleanupBatchSize;
+
+    /**
+     * Метод для создания сессии.
+     *
+     * @param user         пользователь.
+     * @param refreshToken {@code refresh} токен сессии.
+     */
+    public void create(UserEntity user, String refreshToken) {
+        Instant now = Instant.now();
+
+        refreshSessionRepository.save(RefreshSessionEntity
+                .builder()
+                .user(user)
+                .tokenHash(TokenHashes.sha256(refreshToken))
+                .createdAt(now)
+                .expiresAt(now.plus(refreshLifeTime, ChronoUnit.MINUTES))
+                .build()
+        );
+    }
+
+    /**
+     * Метод для завершения сессии. Должен вызываться внутри транзакции.
+     *
+     * @param userId       {@code id} пользователя.
+     * @param refreshToken {@code refresh} токен сессии.
+     * @return {@code true}, если активная сессия существовала и была завершена.
+     */
+    public boolean revoke(UUID userId, String refreshToken) {
+        return refreshSessionRepository.deleteActive(userId, TokenHashes.sha256(refreshToken), Instant.now()) > 0;
+    }
+
+    /**
+     * Метод, который периодически удаляет истёкшие сессии порциями, чтобы не держать
+     * долгих блокировок на таблице.
+     */
+    @Scheduled(fixedDelayString = "${token.refresh.cleanup.delay-ms}")
+    public void deleteExpired() {
+        Instant now = Instant.now();
+        long deleted = 0;
+        int batch;
+
+        do {
+            batch = refreshSessionRepository.deleteExpiredBatch(now, cleanupBatchSize);
+            deleted += batch;
+        } while (batch == cleanupBatchSize);
+
+        if (deleted > 0) {
+            log.info("Удалено истёкших сессий: {}", deleted);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package ru.hits.timeflowapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.hits.timeflowapi.exception.TooManyRequestsException;
+import ru.hits.timeflowapi.util.ratelimit.StripedTokenBucket;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение частоты попыток входа по {@code IP} адресу клиента и по почте. Проверка выполняется
+ * до обращения к БД и хэширования пароля, поэтому перебор паролей отсекается почти бесплатно.
+ */
+@Component
+@RequiredArgsConstructor
+public class SignInRateLimiter {
+
+    private static final String TOO_MANY_REQUESTS_MESSAGE = "Слишком много попыток входа, повторите попытку позже.";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sign-in.rate-limit.stripes}")
+    private Integer stripes;
+
+    @Value("${sign-in.rate-limit.ip.capacity}")
+    private Integer ipCapacity;
+
+    @Value("${sign-in.rate-limit.ip.refill-per-min}")
+    private Integer ipRefillPerMin;
+
+    @Value("${sign-in.rate-limit.email.capacity}")
+    private Integer emailCapacity;
+
+    @Value("${sign-in.rate-limit.email.refill-per-min}")
+    private Integer emailRefillPerMin;
+
+    private StripedTokenBucket ipBuckets;
+
+    private StripedTokenBucket emailBuckets;
+
+    private Counter allowedCounter;
+
+    private Counter ipRejectedCounter;
+
+    private Counter emailRejectedCounter;
+
+    @PostConstruct
+    private void init() {
+        ipBuckets = new StripedTokenBucket(stripes, ipCapacity, ipRefillPerMin);
+        emailBuckets = new StripedTokenBucket(stripes, emailCapacity, emailRefillPerMin);
+
+        allowedCounter = Counter.builder("sign-in.rate-limit")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        ipRejectedCounter = Counter.builder("sign-in.rate-limit")
+                .tag("result", "rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        emailRejectedCounter = Counter.builder("sign-in.rate-limit")
+                .tag("result", "rejected")
+                .tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Метод для проверки того, что попытка входа не превышает лимиты.
+     * Токен по почте расходуется, только если прошла проверка по адресу.
+     *
+     * @param clientAddress {@code IP} адрес клиента.
+     * @param email         почта, под которой выполняется вход.
+     * @throws TooManyRequestsException возникает, если превышен один из лимитов.
+     */
+    public void check(String clientAddress, String email) throws TooManyRequestsException {
+        long wait = ipBuckets.tryAcquire(clientAddress);
+
+        if (wait > 0) {
+            ipRejectedCounter.increment();
+            throw new TooManyRequestsException(TOO_MANY_REQUESTS_MESSAGE, toRetryAfter(wait));
+        }
+
+        wait = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+
+        if (wait > 0) {
+            emailRejectedCounter.increment();
+            throw new TooManyRequestsException(TOO_MANY_REQUESTS_MESSAGE, toRetryAfter(wait));
+        }
+
+        allowedCounter.increment();
+    }
+
+    private static long toRetryAfter(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+}
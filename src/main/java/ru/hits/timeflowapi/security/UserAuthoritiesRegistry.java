@@ -0,0 +1,67 @@
+package ru.hits.timeflowapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.hits.timeflowapi.event.UserDetailsChangedEvent;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр пользователей, у которых недавно изменились полномочия или другие данные
+ * (см. {@link UserDetailsChangedEvent}).
+ * Для каждого такого пользователя хранится момент изменения: {@code access} токены, выпущенные раньше,
+ * считаются устаревшими, и полномочия для них берутся из БД. Записи старше времени жизни
+ * {@code access} токена удаляются, потому что устаревших токенов к этому моменту уже не остаётся.
+ * Реестр хранится в памяти, то есть действует в рамках одного экземпляра приложения.
+ */
+@Component
+public class UserAuthoritiesRegistry {
+
+    private final Map<UUID, Instant> changedAt = new ConcurrentHashMap<>();
+
+    @Value("${token.access.lifetime-min}")
+    private Integer accessLifeTime;
+
+    /**
+     * Метод, который отмечает, что полномочия пользователя изменились.
+     *
+     * @param userId {@code id} пользователя.
+     */
+    public void markChanged(UUID userId) {
+        Instant now = Instant.now();
+
+        changedAt.put(userId, now);
+        changedAt.values().removeIf(time -> time.isBefore(now.minus(accessLifeTime, ChronoUnit.MINUTES)));
+    }
+
+    /**
+     * Метод, который отмечает изменение полномочий при изменении данных пользователя.
+     *
+     * @param event событие изменения данных пользователя.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDetailsChanged(UserDetailsChangedEvent event) {
+        markChanged(event.getUserId());
+    }
+
+    /**
+     * Метод для проверки того, что полномочия в токене актуальны. {@code iat} токена хранится
+     * с точностью до секунды, поэтому токен, выпущенный в ту же секунду, что и изменение, тоже считается
+     * устаревшим.
+     *
+     * @param userId   {@code id} пользователя.
+     * @param issuedAt момент выпуска токена.
+     * @return {@code true}, если после выпуска токена полномочия пользователя не менялись.
+     */
+    public boolean isActual(UUID userId, Instant issuedAt) {
+        Instant changed = changedAt.get(userId);
+
+        return changed == null || issuedAt.isAfter(changed.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+}
@@ -11,31 +11,77 @@ import ru.hits.timeflowapi.enumeration.Role;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Данные аутентифицированного пользователя. Создаются либо по пользователю из БД,
+ * либо по полезной нагрузке проверенного {@code access} токена - тогда пароль неизвестен и равен {@code null}.
+ */
 @RequiredArgsConstructor
 public class UserDetailsImpl implements UserDetails {
 
-    private final UserEntity user;
-    private final List<String> roles;
+    private final UUID id;
+    private final String password;
+    private final List<String> authorities;
+
+    /**
+     * Метод для создания данных пользователя по сущности из БД.
+     *
+     * @param user  пользователь.
+     * @param posts роли должностей сотрудника, пустой список для остальных пользователей.
+     * @return данные пользователя.
+     */
+    public static UserDetailsImpl of(UserEntity user, List<String> posts) {
+        List<String> authorities = new ArrayList<>();
+
+        authorities.add(user.getRole().toString());
+
+        if (user.getRole() == Role.ROLE_EMPLOYEE && user.getAccountStatus() == AccountStatus.ACTIVATED) {
+            authorities.addAll(posts);
+        }
+
+        return new UserDetailsImpl(user.getId(), user.getPassword(), authorities);
+    }
+
+    /**
+     * Метод для создания данных пользователя по полезной нагрузке {@code access} токена.
+     *
+     * @param claims полезная нагрузка токена.
+     * @return данные пользователя.
+     */
+    public static UserDetailsImpl of(AccessTokenClaims claims) {
+        return new UserDetailsImpl(claims.getId(), null, claims.getAuthorities());
+    }
+
+    /**
+     * Метод для получения названий полномочий: роли пользователя и, если он активированный сотрудник,
+     * ролей его должностей. Именно они записываются в {@code access} токен.
+     *
+     * @return названия полномочий.
+     */
+    public List<String> getAuthorityNames() {
+        return authorities;
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        List<SimpleGrantedAuthority> grantedAuthorities = new ArrayList<>(authorities.size());
 
-        authorities.add(new SimpleGrantedAuthority(user.getRole().toString()));
-        addPostsIntoAuthorities(authorities);
+        for (String authority : authorities) {
+            grantedAuthorities.add(new SimpleGrantedAuthority(authority));
+        }
 
-        return authorities;
+        return grantedAuthorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getId().toString();
+        return id.toString();
     }
 
     @Override
@@ -58,18 +104,4 @@ public class UserDetailsImpl implements UserDetails {
         return true;
     }
 
-    /**
-     * Добавляет роли сотрудника в {@code authorities} тогда, когда пользователь является сотрудником,
-     * а его аккаунт активирован.
-     *
-     * @param authorities полномочия.
-     */
-    private void addPostsIntoAuthorities(List<SimpleGrantedAuthority> authorities) {
-        if (user.getRole() == Role.ROLE_EMPLOYEE && user.getAccountStatus() == AccountStatus.ACTIVATED) {
-            for (String role : roles) {
-                authorities.add(new SimpleGrantedAuthority(role));
-            }
-        }
-    }
-
-}
\ No newline at end of file
+}
@@ -1,40 +1,92 @@
 package ru.hits.timeflowapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import ru.hits.timeflowapi.entity.EmployeeDetailsEntity;
 import ru.hits.timeflowapi.entity.EmployeePostEntity;
 import ru.hits.timeflowapi.entity.UserEntity;
 import ru.hits.timeflowapi.enumeration.Role;
+import ru.hits.timeflowapi.event.UserDetailsChangedEvent;
 import ru.hits.timeflowapi.exception.AccessTokenNotValidException;
+import ru.hits.timeflowapi.repository.EmployeeDetailsRepository;
 import ru.hits.timeflowapi.repository.UserRepository;
 
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Сервис для загрузки данных пользователя по его {@code id}. Загруженные данные кэшируются:
+ * размер кэша ограничен, записи живут не дольше {@code user-details.cache.ttl-min} минут
+ * и удаляются при {@link UserDetailsChangedEvent}.
+ */
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final EmployeeDetailsRepository employeeDetailsRepository;
+
+    @Value("${user-details.cache.max-size}")
+    private Long cacheMaxSize;
+
+    @Value("${user-details.cache.ttl-min}")
+    private Long cacheTtlMin;
+
+    private Cache<UUID, UserDetailsImpl> cache;
+
+    @PostConstruct
+    private void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMin))
+                .build();
+    }
 
     @Override
     public UserDetailsImpl loadUserByUsername(String id) throws AccessTokenNotValidException {
-        UserEntity user = userRepository
-                .findById(UUID.fromString(id))
+        return cache.get(UUID.fromString(id), userId -> loadUser(userRepository
+                .findById(userId)
                 .orElseThrow(() -> {
                     throw new AccessTokenNotValidException("Невалидный access токен.");
-                });
+                })
+        ));
+    }
+
+    /**
+     * Метод для удаления данных пользователя из кэша при их изменении. Внутри транзакции
+     * удаление выполняется после её коммита.
+     *
+     * @param event событие изменения данных пользователя.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDetailsChanged(UserDetailsChangedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
 
+    /**
+     * Метод для получения данных пользователя по уже загруженной сущности.
+     *
+     * @param user пользователь.
+     * @return данные пользователя с его полномочиями.
+     */
+    public UserDetailsImpl loadUser(UserEntity user) {
         List<String> postRoles = new ArrayList<>();
 
         if (user.getRole() == Role.ROLE_EMPLOYEE) {
-            postRoles = getPostRoles(user.getEmployee());
+            postRoles = employeeDetailsRepository.findByUserId(user.getId())
+                    .map(this::getPostRoles)
+                    .orElse(postRoles);
         }
 
-        return new UserDetailsImpl(user, postRoles);
+        return UserDetailsImpl.of(user, postRoles);
     }
 
     private List<String> getPostRoles(EmployeeDetailsEntity employeeDetails) {
@@ -1,38 +1,60 @@
 package ru.hits.timeflowapi.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.hits.timeflowapi.dto.TimeslotDto;
+import ru.hits.timeflowapi.dto.availability.AvailabilityCellDto;
+import ru.hits.timeflowapi.dto.availability.AvailabilityDayDto;
+import ru.hits.timeflowapi.dto.availability.AvailabilityMatrixDto;
 import ru.hits.timeflowapi.dto.classroom.ClassroomDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupBasicDto;
 import ru.hits.timeflowapi.dto.teacher.TeacherDto;
 import ru.hits.timeflowapi.entity.ClassroomEntity;
-import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.entity.StudentGroupEntity;
 import ru.hits.timeflowapi.entity.TeacherEntity;
 import ru.hits.timeflowapi.entity.TimeslotEntity;
+import ru.hits.timeflowapi.exception.BadRequestException;
 import ru.hits.timeflowapi.mapper.ClassroomMapper;
 import ru.hits.timeflowapi.mapper.TeacherMapper;
 import ru.hits.timeflowapi.mapper.TimeslotMapper;
 import ru.hits.timeflowapi.repository.ClassroomRepository;
 import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.StudentGroupRepository;
 import ru.hits.timeflowapi.repository.TeacherRepository;
 import ru.hits.timeflowapi.repository.TimeslotRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.service.helpingservices.LessonOccupancyIndex;
+import ru.hits.timeflowapi.service.helpingservices.VerificationOfDates;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Сервис для получения списка доступных
- * составляющих пары.
+ * составляющих пары. Занятые аудитории, преподаватели и таймслоты
+ * берутся из {@link LessonOccupancyIndex}, а доступные получаются разностью множеств.
  */
 @Service
 @RequiredArgsConstructor
 public class AvailableComponentsService {
+    private static final int MAX_MATRIX_DAYS = 31;
     private final TeacherRepository teacherRepository;
     private final TimeslotRepository timeslotRepository;
     private final ClassroomRepository classroomRepository;
+    private final StudentGroupRepository studentGroupRepository;
     private final LessonRepository lessonRepository;
+    private final LessonOccupancyIndex lessonOccupancyIndex;
+    private final VerificationOfDates verificationOfDates;
     private final TeacherMapper teacherMapper;
     private final ClassroomMapper classroomMapper;
     private final TimeslotMapper timeslotMapper;
@@ -47,16 +69,8 @@ public class AvailableComponentsService {
     public List<TimeslotDto> getAvailableTimeslots(UUID groupId, LocalDate date) {
 
         List<TimeslotEntity> timeslots = timeslotRepository.findAll();
-        LessonEntity lesson;
-        List<TimeslotEntity> found = new ArrayList<>();
 
-        for (TimeslotEntity timeslot : timeslots) {
-            lesson = lessonRepository.findByTimeslotAndStudentGroupIdAndDate(timeslot, groupId, date);
-            if (lesson != null) {
-                found.add(timeslot);
-            }
-        }
-        timeslots.removeAll(found);
+        timeslots.removeIf(timeslot -> lessonOccupancyIndex.isStudentGroupBusy(date, timeslot.getId(), groupId));
 
         return timeslotMapper.timeslotListToDtoList(timeslots);
     }
@@ -71,16 +85,9 @@ public class AvailableComponentsService {
     public List<ClassroomDto> getAvailableClassrooms(UUID timeslotId, LocalDate date) {
 
         List<ClassroomEntity> classrooms = classroomRepository.findAll();
-        LessonEntity lesson;
-        List<ClassroomEntity> found = new ArrayList<>();
+        Set<UUID> busyClassroomIds = lessonOccupancyIndex.getBusyClassroomIds(date, timeslotId);
 
-        for (ClassroomEntity classroom : classrooms) {
-            lesson = lessonRepository.findByTimeslotIdAndClassroomAndDate(timeslotId, classroom, date);
-            if (lesson != null) {
-                found.add(classroom);
-            }
-        }
-        classrooms.removeAll(found);
+        classrooms.removeIf(classroom -> busyClassroomIds.contains(classroom.getId()));
 
         return classroomMapper.classroomListToDtoList(classrooms);
     }
@@ -95,18 +102,103 @@ public class AvailableComponentsService {
     public List<TeacherDto> getAvailableTeachers(UUID timeslotId, LocalDate date) {
 
         List<TeacherEntity> teachers = teacherRepository.findAll();
-        LessonEntity lesson;
-        List<TeacherEntity> found = new ArrayList<>();
+        Set<UUID> busyTeacherIds = lessonOccupancyIndex.getBusyTeacherIds(date, timeslotId);
+
+        teachers.removeIf(teacher -> busyTeacherIds.contains(teacher.getId()));
+
+        return teacherMapper.teacherListToDtoList(teachers);
+    }
+
+    /**
+     * Метод для получения матрицы занятости всех аудиторий, преподавателей и групп студентов
+     * во все таймслоты за период. Строится за один проход по парам этого периода.
+     *
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return матрица занятости, где занятость ресурсов закодирована битовыми масками.
+     * @throws BadRequestException если даты некорректны или период длиннее {@value MAX_MATRIX_DAYS} дней.
+     */
+    public AvailabilityMatrixDto getAvailabilityMatrix(LocalDate startDate, LocalDate endDate) {
+        verificationOfDates.checkDates(startDate, endDate);
+
+        int dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        if (dayCount > MAX_MATRIX_DAYS) {
+            throw new BadRequestException("Период не может быть длиннее " + MAX_MATRIX_DAYS + " дней");
+        }
+
+        List<TimeslotEntity> timeslots = timeslotRepository.findAll(Sort.by("sequenceNumber"));
+        List<ClassroomEntity> classrooms = classroomRepository.findAll(Sort.by("number", "id"));
+        List<TeacherEntity> teachers = teacherRepository.findAll(Sort.by("surname", "name", "patronymic", "id"));
+        List<StudentGroupEntity> studentGroups = studentGroupRepository.findAll(Sort.by("number"));
+
+        Map<UUID, Integer> timeslotIndexes = indexById(timeslots, TimeslotEntity::getId);
+        Map<UUID, Integer> classroomIndexes = indexById(classrooms, ClassroomEntity::getId);
+        Map<UUID, Integer> teacherIndexes = indexById(teachers, TeacherEntity::getId);
+        Map<UUID, Integer> studentGroupIndexes = indexById(studentGroups, StudentGroupEntity::getId);
+
+        BitSet[][][] busy = new BitSet[dayCount][timeslots.size()][3];
+
+        for (LessonSlot slot : lessonRepository.findSlotsByDateBetween(startDate, endDate)) {
+            Integer timeslotIndex = timeslotIndexes.get(slot.getTimeslotId());
+
+            if (timeslotIndex == null) {
+                continue;
+            }
+
+            BitSet[] cell = busy[(int) ChronoUnit.DAYS.between(startDate, slot.getDate())][timeslotIndex];
+            setBit(cell, 0, classroomIndexes.get(slot.getClassroomId()));
+            setBit(cell, 1, teacherIndexes.get(slot.getTeacherId()));
+            setBit(cell, 2, studentGroupIndexes.get(slot.getStudentGroupId()));
+        }
+
+        List<AvailabilityDayDto> days = new ArrayList<>(dayCount);
+
+        for (int day = 0; day < dayCount; day++) {
+            List<AvailabilityCellDto> cells = new ArrayList<>(timeslots.size());
 
-        for (TeacherEntity teacher : teachers) {
-            lesson = lessonRepository.findByTimeslotIdAndTeacherAndDate(timeslotId, teacher, date);
-            if (lesson != null) {
-                found.add(teacher);
+            for (BitSet[] cell : busy[day]) {
+                cells.add(new AvailabilityCellDto(encode(cell[0]), encode(cell[1]), encode(cell[2])));
             }
+
+            days.add(new AvailabilityDayDto(startDate.plusDays(day), cells));
         }
-        teachers.removeAll(found);
 
-        return teacherMapper.teacherListToDtoList(teachers);
+        return new AvailabilityMatrixDto(
+                startDate,
+                endDate,
+                timeslotMapper.timeslotListToDtoList(timeslots),
+                classroomMapper.classroomListToDtoList(classrooms),
+                teacherMapper.teacherListToDtoList(teachers),
+                studentGroups.stream().map(StudentGroupBasicDto::new).toList(),
+                days
+        );
+    }
+
+    private static <T> Map<UUID, Integer> indexById(List<T> entities, Function<T, UUID> getId) {
+        Map<UUID, Integer> indexes = new HashMap<>();
+
+        for (int i = 0; i < entities.size(); i++) {
+            indexes.put(getId.apply(entities.get(i)), i);
+        }
+
+        return indexes;
+    }
+
+    private static void setBit(BitSet[] cell, int resource, Integer index) {
+        if (index == null) {
+            return;
+        }
+
+        if (cell[resource] == null) {
+            cell[resource] = new BitSet();
+        }
+
+        cell[resource].set(index);
+    }
+
+    private static String encode(BitSet bits) {
+        return bits == null ? "" : Base64.getEncoder().encodeToString(bits.toByteArray());
     }
 
 }
@@ -0,0 +1,389 @@
+package ru.hits.timeflowapi.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import ru.hits.timeflowapi.dto.lesson.CreateLessonDto;
+import ru.hits.timeflowapi.dto.lesson.importing.LessonImportReportDto;
+import ru.hits.timeflowapi.dto.lesson.importing.LessonImportRowResultDto;
+import ru.hits.timeflowapi.entity.ClassroomEntity;
+import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.entity.StudentGroupEntity;
+import ru.hits.timeflowapi.entity.SubjectEntity;
+import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.entity.TimeslotEntity;
+import ru.hits.timeflowapi.enumeration.LessonImportStatus;
+import ru.hits.timeflowapi.exception.BadRequestException;
+import ru.hits.timeflowapi.exception.ConflictException;
+import ru.hits.timeflowapi.repository.ClassroomRepository;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.StudentGroupRepository;
+import ru.hits.timeflowapi.repository.SubjectRepository;
+import ru.hits.timeflowapi.repository.TeacherRepository;
+import ru.hits.timeflowapi.repository.TimeslotRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.service.cache.TimetableCache;
+import ru.hits.timeflowapi.service.helpingservices.CheckClassroomAndTeacherAndTimeslotAccessibility;
+import ru.hits.timeflowapi.service.helpingservices.LessonBatchWriter;
+import ru.hits.timeflowapi.service.helpingservices.LessonOccupancyIndex;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис для массового импорта пар. Все строки валидируются и проверяются на конфликты в памяти:
+ * связанные сущности загружаются одним запросом на каждый тип, занятость за период импорта -
+ * одним запросом к таблице пар. Конфликты проверяются и с уже существующими парами, и между строками
+ * импорта. Строки без ошибок сохраняются пачками по {@code lesson.import.batch-size}, каждая в своей транзакции,
+ * для остальных возвращаются причины отказа.
+ * <p>
+ * Входные строки читаются в память целиком, до {@code lesson.import.max-rows} штук, чтобы лимит проверялся
+ * до записи первой пачки. В памяти одновременно находятся сущности только одной пачки.
+ */
+@Service
+@RequiredArgsConstructor
+public class LessonImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LessonRepository lessonRepository;
+    private final StudentGroupRepository studentGroupRepository;
+    private final SubjectRepository subjectRepository;
+    private final TeacherRepository teacherRepository;
+    private final ClassroomRepository classroomRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final LessonBatchWriter lessonBatchWriter;
+    private final CheckClassroomAndTeacherAndTimeslotAccessibility checkClassroomAndTeacherAndTimeslotAccessibility;
+    private final LessonOccupancyIndex lessonOccupancyIndex;
+    private final TimetableCache timetableCache;
+
+    @Value("${lesson.import.max-rows}")
+    private Integer maxRows;
+
+    @Value("${lesson.import.batch-size}")
+    private Integer batchSize;
+
+    /**
+     * Метод для импорта пар.
+     *
+     * @param inputStream JSON-массив или NDJSON (по одному объекту {@link CreateLessonDto} на строку).
+     * @return отчёт о результате импорта каждой строки.
+     * @throws BadRequestException если входные данные не являются корректным JSON
+     *                             или строк больше {@code lesson.import.max-rows}.
+     */
+    public LessonImportReportDto importLessons(InputStream inputStream) {
+        List<CreateLessonDto> rows = readRows(inputStream);
+        List<List<String>> errors = new ArrayList<>(rows.size());
+
+        for (CreateLessonDto row : rows) {
+            errors.add(validate(row));
+        }
+
+        Map<UUID, StudentGroupEntity> studentGroups = loadById(rows, errors,
+                CreateLessonDto::getStudentGroupId, studentGroupRepository::findAllById, StudentGroupEntity::getId);
+        Map<UUID, SubjectEntity> subjects = loadById(rows, errors,
+                CreateLessonDto::getSubjectId, subjectRepository::findAllById, SubjectEntity::getId);
+        Map<UUID, TeacherEntity> teachers = loadById(rows, errors,
+                CreateLessonDto::getTeacherId, teacherRepository::findAllById, TeacherEntity::getId);
+        Map<UUID, ClassroomEntity> classrooms = loadById(rows, errors,
+                CreateLessonDto::getClassroomId, classroomRepository::findAllById, ClassroomEntity::getId);
+        Map<UUID, TimeslotEntity> timeslots = loadById(rows, errors,
+                CreateLessonDto::getTimeslotId, timeslotRepository::findAllById, TimeslotEntity::getId);
+
+        Occupancy occupancy = loadOccupancy(rows, errors);
+        UUID[] lessonIds = new UUID[rows.size()];
+        List<LessonEntity> lessons = new ArrayList<>(batchSize);
+        List<Integer> lessonRows = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateLessonDto row = rows.get(i);
+            List<String> rowErrors = errors.get(i);
+
+            if (!rowErrors.isEmpty()) {
+                continue;
+            }
+
+            checkReference(studentGroups, row.getStudentGroupId(), "Группы студентов", rowErrors);
+            checkReference(subjects, row.getSubjectId(), "Предмета", rowErrors);
+            checkReference(teachers, row.getTeacherId(), "Преподавателя", rowErrors);
+            checkReference(classrooms, row.getClassroomId(), "Аудитории", rowErrors);
+            checkReference(timeslots, row.getTimeslotId(), "Таймслота", rowErrors);
+
+            if (!rowErrors.isEmpty()) {
+                continue;
+            }
+
+            occupancy.check(row, rowErrors);
+
+            if (!rowErrors.isEmpty()) {
+                continue;
+            }
+
+            occupancy.occupy(row);
+
+            lessons.add(LessonEntity.builder()
+                    .studentGroup(studentGroups.get(row.getStudentGroupId()))
+                    .subject(subjects.get(row.getSubjectId()))
+                    .teacher(teachers.get(row.getTeacherId()))
+                    .classroom(classrooms.get(row.getClassroomId()))
+                    .timeslot(timeslots.get(row.getTimeslotId()))
+                    .date(row.getDate())
+                    .lessonType(row.getLessonType())
+                    .build());
+            lessonRows.add(i);
+
+            if (lessons.size() == batchSize) {
+                write(lessons, lessonRows, lessonIds, errors);
+                lessons.clear();
+                lessonRows.clear();
+            }
+        }
+
+        write(lessons, lessonRows, lessonIds, errors);
+
+        List<LessonImportRowResultDto> results = new ArrayList<>(rows.size());
+        int imported = 0;
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (lessonIds[i] != null) {
+                results.add(new LessonImportRowResultDto(i, LessonImportStatus.IMPORTED, lessonIds[i], List.of()));
+                imported++;
+            } else {
+                results.add(new LessonImportRowResultDto(i, LessonImportStatus.REJECTED, null, errors.get(i)));
+            }
+        }
+
+        return new LessonImportReportDto(rows.size(), imported, rows.size() - imported, results);
+    }
+
+    /**
+     * Метод для сохранения пачки пар в отдельной транзакции. Если БД отклонила пачку из-за ограничений
+     * занятости, то место одной из пар заняли после загрузки снимка занятости, например, на другом
+     * экземпляре приложения. Тогда пары пачки сохраняются по одной, а отклонённые строки получают
+     * то же сообщение о конфликте, что и при добавлении одной пары.
+     *
+     * @param lessons    пары пачки.
+     * @param lessonRows номера строк импорта, из которых получены пары.
+     * @param lessonIds  {@code id} сохранённых пар по номерам строк.
+     * @param errors     ошибки по номерам строк.
+     */
+    private void write(List<LessonEntity> lessons,
+                       List<Integer> lessonRows,
+                       UUID[] lessonIds,
+                       List<List<String>> errors) {
+        if (lessons.isEmpty()) {
+            return;
+        }
+
+        List<LessonEntity> written = new ArrayList<>(lessons.size());
+
+        try {
+            lessonBatchWriter.write(lessons);
+            written.addAll(lessons);
+        } catch (DataIntegrityViolationException batchException) {
+            for (LessonEntity lesson : lessons) {
+                // id выдан при persist в откатившейся транзакции, с ним пара считалась бы отсоединённой.
+                lesson.setId(null);
+            }
+
+            for (int i = 0; i < lessons.size(); i++) {
+                LessonEntity lesson = lessons.get(i);
+
+                try {
+                    lessonBatchWriter.write(List.of(lesson));
+                    written.add(lesson);
+                } catch (DataIntegrityViolationException exception) {
+                    lesson.setId(null);
+                    ConflictException conflict = checkClassroomAndTeacherAndTimeslotAccessibility.toConflictException(
+                            exception,
+                            lesson.getTimeslot().getId(),
+                            lesson.getTeacher().getId(),
+                            lesson.getClassroom().getId(),
+                            lesson.getStudentGroup().getId(),
+                            List.of(lesson.getDate())
+                    );
+                    errors.get(lessonRows.get(i)).add(conflict.getMessage());
+                }
+            }
+        }
+
+        for (int i = 0; i < lessons.size(); i++) {
+            lessonIds[lessonRows.get(i)] = lessons.get(i).getId();
+        }
+
+        List<LessonSlot> slots = written.stream().map(LessonSlot::of).toList();
+        slots.forEach(lessonOccupancyIndex::occupy);
+        timetableCache.evict(slots);
+    }
+
+    /**
+     * Метод для чтения строк импорта. {@link MappingIterator} одинаково читает и JSON-массив,
+     * и последовательность объектов без обрамляющего массива, то есть NDJSON.
+     *
+     * @param inputStream входные данные.
+     * @return список строк импорта.
+     */
+    private List<CreateLessonDto> readRows(InputStream inputStream) {
+        List<CreateLessonDto> rows = new ArrayList<>();
+
+        try (MappingIterator<CreateLessonDto> iterator = objectMapper
+                .readerFor(CreateLessonDto.class)
+                .readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                if (rows.size() == maxRows) {
+                    throw new BadRequestException("За один импорт можно добавить не больше " + maxRows + " пар");
+                }
+
+                rows.add(iterator.nextValue());
+            }
+        } catch (BadRequestException exception) {
+            throw exception;
+        } catch (IOException | RuntimeException exception) {
+            throw new BadRequestException("Некорректные данные в строке " + rows.size() + ": "
+                    + exception.getMessage());
+        }
+
+        return rows;
+    }
+
+    private List<String> validate(CreateLessonDto row) {
+        List<String> rowErrors = new ArrayList<>();
+
+        if (row == null) {
+            rowErrors.add("Пустая строка");
+            return rowErrors;
+        }
+
+        for (ConstraintViolation<CreateLessonDto> violation : validator.validate(row)) {
+            rowErrors.add(violation.getMessage());
+        }
+
+        return rowErrors;
+    }
+
+    /**
+     * Метод для загрузки всех сущностей одного типа, на которые ссылаются валидные строки, одним запросом.
+     */
+    private <T> Map<UUID, T> loadById(List<CreateLessonDto> rows,
+                                      List<List<String>> errors,
+                                      Function<CreateLessonDto, UUID> getReferenceId,
+                                      Function<Collection<UUID>, List<T>> findAllById,
+                                      Function<T, UUID> getId) {
+        Set<UUID> ids = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors.get(i).isEmpty()) {
+                ids.add(getReferenceId.apply(rows.get(i)));
+            }
+        }
+
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return findAllById.apply(ids)
+                .stream()
+                .collect(Collectors.toMap(getId, Function.identity()));
+    }
+
+    private void checkReference(Map<UUID, ?> entities, UUID id, String name, List<String> rowErrors) {
+        if (!entities.containsKey(id)) {
+            rowErrors.add(name + " с ID " + id + " не существует");
+        }
+    }
+
+    /**
+     * Метод для загрузки занятости за период, который покрывают валидные строки.
+     */
+    private Occupancy loadOccupancy(List<CreateLessonDto> rows, List<List<String>> errors) {
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (!errors.get(i).isEmpty()) {
+                continue;
+            }
+
+            LocalDate date = rows.get(i).getDate();
+
+            if (startDate == null || date.isBefore(startDate)) {
+                startDate = date;
+            }
+
+            if (endDate == null || date.isAfter(endDate)) {
+                endDate = date;
+            }
+        }
+
+        Occupancy occupancy = new Occupancy();
+
+        if (startDate != null) {
+            lessonRepository.findSlotsByDateBetween(startDate, endDate).forEach(occupancy::occupy);
+        }
+
+        return occupancy;
+    }
+
+    /**
+     * Снимок занятости преподавателей, аудиторий и групп студентов за период импорта.
+     * Пополняется принятыми строками, чтобы находить конфликты внутри самого импорта.
+     */
+    private static class Occupancy {
+
+        private final Set<SlotKey> teachers = new HashSet<>();
+
+        private final Set<SlotKey> classrooms = new HashSet<>();
+
+        private final Set<SlotKey> studentGroups = new HashSet<>();
+
+        private void occupy(LessonSlot slot) {
+            teachers.add(new SlotKey(slot.getDate(), slot.getTimeslotId(), slot.getTeacherId()));
+            classrooms.add(new SlotKey(slot.getDate(), slot.getTimeslotId(), slot.getClassroomId()));
+            studentGroups.add(new SlotKey(slot.getDate(), slot.getTimeslotId(), slot.getStudentGroupId()));
+        }
+
+        private void occupy(CreateLessonDto row) {
+            teachers.add(new SlotKey(row.getDate(), row.getTimeslotId(), row.getTeacherId()));
+            classrooms.add(new SlotKey(row.getDate(), row.getTimeslotId(), row.getClassroomId()));
+            studentGroups.add(new SlotKey(row.getDate(), row.getTimeslotId(), row.getStudentGroupId()));
+        }
+
+        private void check(CreateLessonDto row, List<String> rowErrors) {
+            if (teachers.contains(new SlotKey(row.getDate(), row.getTimeslotId(), row.getTeacherId()))) {
+                rowErrors.add("Преподаватель с ID " + row.getTeacherId() + " в таймслот с ID "
+                        + row.getTimeslotId() + " на дату " + row.getDate() + " занят");
+            }
+
+            if (classrooms.contains(new SlotKey(row.getDate(), row.getTimeslotId(), row.getClassroomId()))) {
+                rowErrors.add("Аудитория с ID " + row.getClassroomId() + " в таймслот с ID "
+                        + row.getTimeslotId() + " на дату " + row.getDate() + " занята");
+            }
+
+            if (studentGroups.contains(new SlotKey(row.getDate(), row.getTimeslotId(), row.getStudentGroupId()))) {
+                rowErrors.add("Таймслот с ID " + row.getTimeslotId() + " на дату " + row.getDate()
+                        + " занят у группы с ID " + row.getStudentGroupId());
+            }
+        }
+
+    }
+
+    private record SlotKey(LocalDate date, UUID timeslotId, UUID resourceId) {
+    }
+
+}
@@ -1,7 +1,10 @@
 package ru.hits.timeflowapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.hits.timeflowapi.dto.classroom.ClassroomDto;
 import ru.hits.timeflowapi.dto.classroom.ClassroomTimetableDto;
 import ru.hits.timeflowapi.dto.lesson.CreateLessonDto;
@@ -15,6 +18,9 @@ import ru.hits.timeflowapi.entity.ClassroomEntity;
 import ru.hits.timeflowapi.entity.LessonEntity;
 import ru.hits.timeflowapi.entity.StudentGroupEntity;
 import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.exception.ConflictException;
+import ru.hits.timeflowapi.exception.InternalException;
 import ru.hits.timeflowapi.exception.NotFoundException;
 import ru.hits.timeflowapi.mapper.CreateLessonForAFewWeeksDtoMapper;
 import ru.hits.timeflowapi.mapper.LessonMapper;
@@ -22,14 +28,22 @@ import ru.hits.timeflowapi.repository.ClassroomRepository;
 import ru.hits.timeflowapi.repository.LessonRepository;
 import ru.hits.timeflowapi.repository.StudentGroupRepository;
 import ru.hits.timeflowapi.repository.TeacherRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.service.cache.CachedTimetable;
+import ru.hits.timeflowapi.service.cache.TimetableCache;
+import ru.hits.timeflowapi.service.cache.TimetableSnapshot;
 import ru.hits.timeflowapi.service.helpingservices.CheckClassroomAndTeacherAndTimeslotAccessibility;
 import ru.hits.timeflowapi.service.helpingservices.CheckCreateLessonDtoValidity;
+import ru.hits.timeflowapi.service.helpingservices.LessonOccupancyIndex;
 import ru.hits.timeflowapi.service.helpingservices.VerificationOfDates;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -44,44 +58,142 @@ public class LessonService {
     private final VerificationOfDates verificationOfDates;
     private final CreateLessonForAFewWeeksDtoMapper createLessonForAFewWeeksDtoMapper;
     private final LessonMapper lessonMapper;
+    private final LessonOccupancyIndex lessonOccupancyIndex;
+    private final TimetableCache timetableCache;
+    private final ObjectMapper objectMapper;
 
-    public StudentGroupTimetableDto getWeekLessonsByGroupId(UUID groupId, LocalDate startDate, LocalDate endDate) {
+    /**
+     * Метод для получения расписания за период, уже сериализованного в JSON и сжатого {@code gzip}.
+     * Сериализация выполняется один раз, пока расписание не изменится или не истечёт время жизни кэша.
+     * Пары загружаются напрямую, без кэша DTO, чтобы не сериализовать расписание дважды.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return сериализованное расписание.
+     * @throws NotFoundException если группы студентов, преподавателя или аудитории не существует.
+     */
+    public TimetableSnapshot getTimetableSnapshot(TimetableType type, UUID id, LocalDate startDate, LocalDate endDate) {
         verificationOfDates.checkDates(startDate, endDate);
 
-        StudentGroupEntity studentGroup = studentGroupRepository.findById(groupId)
-                .orElseThrow(() ->
-                        new NotFoundException("Студенческой группы с таким ID " + groupId + " не существует"));
+        return timetableCache.getSnapshot(type, id, startDate, endDate, () -> serialize(switch (type) {
+            case STUDENT_GROUP -> loadGroupTimetable(id, startDate, endDate);
+            case TEACHER -> loadTeacherTimetable(id, startDate, endDate);
+            case CLASSROOM -> loadClassroomTimetable(id, startDate, endDate);
+        }));
+    }
+
+    private TimetableSnapshot serialize(Object timetable) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(timetable);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(gzip)) {
+                gzipStream.write(json);
+            }
+
+            return new TimetableSnapshot(json, gzip.toByteArray(), CachedTimetable.eTagOf(json));
+        } catch (IOException exception) {
+            throw new InternalException("Не удалось сериализовать расписание: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Метод для получения расписания группы студентов за период. Пары загружаются одним запросом
+     * вместе со всеми связанными сущностями, а группа берётся из первой пары. Отдельный запрос
+     * за группой выполняется, только если пар в этот период нет. Результат кэшируется в {@link TimetableCache}.
+     *
+     * @param groupId   уникальный идентификатор группы студентов.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return расписание группы студентов с его {@code ETag}.
+     * @throws NotFoundException если группы студентов не существует.
+     */
+    public CachedTimetable<StudentGroupTimetableDto> getWeekLessonsByGroupId(UUID groupId,
+                                                                             LocalDate startDate,
+                                                                             LocalDate endDate) {
+        verificationOfDates.checkDates(startDate, endDate);
+
+        return timetableCache.get(TimetableType.STUDENT_GROUP, groupId, startDate, endDate,
+                () -> loadGroupTimetable(groupId, startDate, endDate));
+    }
 
+    private StudentGroupTimetableDto loadGroupTimetable(UUID groupId, LocalDate startDate, LocalDate endDate) {
         List<LessonEntity> lessons = lessonRepository
-                .findByStudentGroupAndDateIsBetweenOrderByDate(studentGroup, startDate, endDate);
+                .findByStudentGroupIdAndDateIsBetweenOrderByDate(groupId, startDate, endDate);
+
+        StudentGroupEntity studentGroup = lessons.isEmpty()
+                ? studentGroupRepository.findById(groupId)
+                .orElseThrow(() ->
+                        new NotFoundException("Студенческой группы с таким ID " + groupId + " не существует"))
+                : lessons.get(0).getStudentGroup();
 
         return new StudentGroupTimetableDto(
                 new StudentGroupBasicDto(studentGroup), lessonMapper.lessonListToDtoList(lessons)
         );
     }
 
-    public TeacherTimetableDto getWeekLessonsByTeacherId(UUID teacherId, LocalDate startDate, LocalDate endDate) {
+    /**
+     * Метод для получения расписания преподавателя за период. Как и в
+     * {@link #getWeekLessonsByGroupId(UUID, LocalDate, LocalDate)}, обычно обходится одним запросом.
+     *
+     * @param teacherId уникальный идентификатор преподавателя.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return расписание преподавателя с его {@code ETag}.
+     * @throws NotFoundException если преподавателя не существует.
+     */
+    public CachedTimetable<TeacherTimetableDto> getWeekLessonsByTeacherId(UUID teacherId,
+                                                                          LocalDate startDate,
+                                                                          LocalDate endDate) {
         verificationOfDates.checkDates(startDate, endDate);
 
-        TeacherEntity teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() ->
-                        new NotFoundException("Преподавателя с таким ID " + teacherId + " не существует"));
+        return timetableCache.get(TimetableType.TEACHER, teacherId, startDate, endDate,
+                () -> loadTeacherTimetable(teacherId, startDate, endDate));
+    }
 
+    private TeacherTimetableDto loadTeacherTimetable(UUID teacherId, LocalDate startDate, LocalDate endDate) {
         List<LessonEntity> lessons = lessonRepository
-                .findByTeacherAndDateIsBetweenOrderByDate(teacher, startDate, endDate);
+                .findByTeacherIdAndDateIsBetweenOrderByDate(teacherId, startDate, endDate);
+
+        TeacherEntity teacher = lessons.isEmpty()
+                ? teacherRepository.findById(teacherId)
+                .orElseThrow(() ->
+                        new NotFoundException("Преподавателя с таким ID " + teacherId + " не существует"))
+                : lessons.get(0).getTeacher();
 
         return new TeacherTimetableDto(new TeacherDto(teacher), lessonMapper.lessonListToDtoList(lessons));
     }
 
-    public ClassroomTimetableDto getWeekLessonsByClassroomId(UUID classroomId, LocalDate startDate, LocalDate endDate) {
+    /**
+     * Метод для получения расписания аудитории за период. Как и в
+     * {@link #getWeekLessonsByGroupId(UUID, LocalDate, LocalDate)}, обычно обходится одним запросом.
+     *
+     * @param classroomId уникальный идентификатор аудитории.
+     * @param startDate   дата начала периода.
+     * @param endDate     дата конца периода.
+     * @return расписание аудитории с его {@code ETag}.
+     * @throws NotFoundException если аудитории не существует.
+     */
+    public CachedTimetable<ClassroomTimetableDto> getWeekLessonsByClassroomId(UUID classroomId,
+                                                                              LocalDate startDate,
+                                                                              LocalDate endDate) {
         verificationOfDates.checkDates(startDate, endDate);
 
-        ClassroomEntity classroom = classroomRepository.findById(classroomId)
-                .orElseThrow(() ->
-                        new NotFoundException("Аудитории с таким ID " + classroomId + " не существует"));
+        return timetableCache.get(TimetableType.CLASSROOM, classroomId, startDate, endDate,
+                () -> loadClassroomTimetable(classroomId, startDate, endDate));
+    }
 
+    private ClassroomTimetableDto loadClassroomTimetable(UUID classroomId, LocalDate startDate, LocalDate endDate) {
         List<LessonEntity> lessons = lessonRepository
-                .findByClassroomAndDateIsBetweenOrderByDate(classroom, startDate, endDate);
+                .findByClassroomIdAndDateIsBetweenOrderByDate(classroomId, startDate, endDate);
+
+        ClassroomEntity classroom = lessons.isEmpty()
+                ? classroomRepository.findById(classroomId)
+                .orElseThrow(() ->
+                        new NotFoundException("Аудитории с таким ID " + classroomId + " не существует"))
+                : lessons.get(0).getClassroom();
 
         return new ClassroomTimetableDto(new ClassroomDto(classroom), lessonMapper.lessonListToDtoList(lessons));
     }
@@ -110,10 +222,12 @@ public class LessonService {
     }
 
     public void deleteLesson(UUID id) {
-        if (lessonRepository.findById(id).isEmpty()) {
-            throw new NotFoundException("Пары с таким ID " + id + " не существует");
-        }
-        lessonRepository.deleteById(id);
+        LessonEntity lesson = lessonRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Пары с таким ID " + id + " не существует"));
+
+        lessonRepository.delete(lesson);
+        lessonOccupancyIndex.release(LessonSlot.of(lesson));
+        timetableCache.evict(LessonSlot.of(lesson));
     }
 
     /**
@@ -144,6 +258,9 @@ public class LessonService {
         );
 
         lessonRepository.deleteAll(lessonEntities);
+        List<LessonSlot> slots = lessonEntities.stream().map(LessonSlot::of).toList();
+        slots.forEach(lessonOccupancyIndex::release);
+        timetableCache.evict(slots);
     }
 
     public LessonDto updateLesson(UUID id, CreateLessonDto updatedLessonDto) {
@@ -167,13 +284,17 @@ public class LessonService {
     }
 
     /**
-     * Метод для добавления новой пары в бд.
+     * Метод для добавления новой пары в бд. После сохранения обновляет {@link LessonOccupancyIndex}.
+     * Если параллельный запрос успел занять то же место в расписании, то БД отклонит запись
+     * и будет выброшен {@link ConflictException}.
      *
      * @param lesson            LessonEntity, которую меняют/добавляют в бд.
      * @param lessonWithValidId LessonEntity с валидными ID.
      * @return LessonEntity, заполненная новыми данными.
      */
     private LessonEntity setLesson(LessonEntity lesson, LessonEntity lessonWithValidId) {
+        LessonSlot previousSlot = lesson.getId() != null ? LessonSlot.of(lesson) : null;
+
         lesson.setStudentGroup(lessonWithValidId.getStudentGroup());
         lesson.setSubject(lessonWithValidId.getSubject());
         lesson.setTeacher(lessonWithValidId.getTeacher());
@@ -182,17 +303,38 @@ public class LessonService {
         lesson.setDate(lessonWithValidId.getDate());
         lesson.setLessonType(lessonWithValidId.getLessonType());
 
-        lessonRepository.save(lesson);
+        try {
+            lessonRepository.save(lesson);
+        } catch (DataIntegrityViolationException exception) {
+            throw checkClassroomAndTeacherAndTimeslotAccessibility.toConflictException(
+                    exception,
+                    lesson.getTimeslot().getId(),
+                    lesson.getTeacher().getId(),
+                    lesson.getClassroom().getId(),
+                    lesson.getStudentGroup().getId(),
+                    List.of(lesson.getDate())
+            );
+        }
+
+        if (previousSlot != null) {
+            lessonOccupancyIndex.release(previousSlot);
+            timetableCache.evict(previousSlot);
+        }
+        lessonOccupancyIndex.occupy(LessonSlot.of(lesson));
+        timetableCache.evict(LessonSlot.of(lesson));
 
         return lesson;
     }
 
     /**
-     * Метод для добавления пары сразу на какое-то количество недель.
+     * Метод для добавления пары сразу на какое-то количество недель. Конфликты на все недели проверяются
+     * одним запросом, а пары сохраняются пачкой в одной транзакции: либо добавляются все, либо ни одна.
      *
      * @param createLessonForAFewWeeksDto DTO для создания пары сразу на какое-то количество недель.
      * @return список только что добавленных пар.
+     * @throws ConflictException если хотя бы на одной из недель преподаватель, аудитория или группа заняты.
      */
+    @Transactional
     public List<LessonDto> addLessonForAFewWeeks(CreateLessonForAFewWeeksDto createLessonForAFewWeeksDto) {
 
         CreateLessonDto createLessonDto = createLessonForAFewWeeksDtoMapper.
@@ -200,26 +342,52 @@ public class LessonService {
 
         LessonEntity lessonWithValidId = checkCreateLessonDtoValidity.checkIdValidity(createLessonDto);
 
-        List<LessonDto> lessonDtos = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
 
         for (long i = 0; i < createLessonForAFewWeeksDto.getNumberOfWeeks(); i++) {
-            checkClassroomAndTeacherAndTimeslotAccessibility.checkAccessibility(
+            dates.add(createLessonDto.getDate().plusDays(i * 7));
+        }
+
+        checkClassroomAndTeacherAndTimeslotAccessibility.checkAccessibility(
+                createLessonDto.getTimeslotId(),
+                createLessonDto.getTeacherId(),
+                createLessonDto.getClassroomId(),
+                createLessonDto.getStudentGroupId(),
+                dates
+        );
+
+        List<LessonEntity> lessons = new ArrayList<>(dates.size());
+
+        for (LocalDate date : dates) {
+            lessons.add(LessonEntity.builder()
+                    .studentGroup(lessonWithValidId.getStudentGroup())
+                    .subject(lessonWithValidId.getSubject())
+                    .teacher(lessonWithValidId.getTeacher())
+                    .classroom(lessonWithValidId.getClassroom())
+                    .timeslot(lessonWithValidId.getTimeslot())
+                    .date(date)
+                    .lessonType(createLessonDto.getLessonType())
+                    .build()
+            );
+        }
+
+        try {
+            lessonRepository.saveAllAndFlush(lessons);
+        } catch (DataIntegrityViolationException exception) {
+            throw checkClassroomAndTeacherAndTimeslotAccessibility.toConflictException(
+                    exception,
                     createLessonDto.getTimeslotId(),
                     createLessonDto.getTeacherId(),
                     createLessonDto.getClassroomId(),
                     createLessonDto.getStudentGroupId(),
-                    createLessonDto.getDate().plusDays(i * 7)
+                    dates
             );
-
-            lessonWithValidId.setDate(createLessonDto.getDate().plusDays(i * 7));
-            lessonWithValidId.setLessonType(createLessonDto.getLessonType());
-
-            LessonEntity lesson = new LessonEntity();
-
-            lessonDtos.add(new LessonDto(setLesson(lesson, lessonWithValidId)));
         }
 
-        return lessonDtos;
+        List<LessonSlot> slots = lessons.stream().map(LessonSlot::of).toList();
+        slots.forEach(lessonOccupancyIndex::occupy);
+        timetableCache.evict(slots);
 
+        return lessonMapper.lessonListToDtoList(lessons);
     }
 }
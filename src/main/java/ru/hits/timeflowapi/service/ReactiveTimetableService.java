@@ -0,0 +1,131 @@
+package ru.hits.timeflowapi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.hits.timeflowapi.dto.classroom.ClassroomTimetableDto;
+import ru.hits.timeflowapi.dto.lesson.LessonDto;
+import ru.hits.timeflowapi.dto.studentgroup.StudentGroupTimetableDto;
+import ru.hits.timeflowapi.dto.teacher.TeacherTimetableDto;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.exception.NotFoundException;
+import ru.hits.timeflowapi.repository.reactive.ReactiveLessonRepository;
+import ru.hits.timeflowapi.service.cache.TimetableCache;
+import ru.hits.timeflowapi.service.cache.TimetableVersions;
+import ru.hits.timeflowapi.service.helpingservices.VerificationOfDates;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Неблокирующее чтение расписаний. Отдаёт те же DTO, что и {@link LessonService}, и использует
+ * тот же {@link TimetableCache}, поэтому изменения пар через {@code JPA} сразу видны и здесь.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTimetableService {
+
+    private final ReactiveLessonRepository reactiveLessonRepository;
+    private final TimetableCache timetableCache;
+    private final TimetableVersions timetableVersions;
+    private final VerificationOfDates verificationOfDates;
+
+    /**
+     * Метод для получения расписания группы студентов за период.
+     *
+     * @param groupId   уникальный идентификатор группы студентов.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return расписание группы студентов или ошибка {@link NotFoundException}, если группы не существует.
+     */
+    public Mono<StudentGroupTimetableDto> getWeekLessonsByGroupId(UUID groupId, LocalDate startDate, LocalDate endDate) {
+        return getTimetable(TimetableType.STUDENT_GROUP, groupId, startDate, endDate,
+                LessonDto::getStudentGroup,
+                () -> reactiveLessonRepository.findStudentGroupById(groupId),
+                "Студенческой группы с таким ID " + groupId + " не существует",
+                StudentGroupTimetableDto::new);
+    }
+
+    /**
+     * Метод для получения расписания преподавателя за период.
+     *
+     * @param teacherId уникальный идентификатор преподавателя.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return расписание преподавателя или ошибка {@link NotFoundException}, если преподавателя не существует.
+     */
+    public Mono<TeacherTimetableDto> getWeekLessonsByTeacherId(UUID teacherId, LocalDate startDate, LocalDate endDate) {
+        return getTimetable(TimetableType.TEACHER, teacherId, startDate, endDate,
+                LessonDto::getTeacher,
+                () -> reactiveLessonRepository.findTeacherById(teacherId),
+                "Преподавателя с таким ID " + teacherId + " не существует",
+                TeacherTimetableDto::new);
+    }
+
+    /**
+     * Метод для получения расписания аудитории за период.
+     *
+     * @param classroomId уникальный идентификатор аудитории.
+     * @param startDate   дата начала периода.
+     * @param endDate     дата конца периода.
+     * @return расписание аудитории или ошибка {@link NotFoundException}, если аудитории не существует.
+     */
+    public Mono<ClassroomTimetableDto> getWeekLessonsByClassroomId(UUID classroomId,
+                                                                   LocalDate startDate,
+                                                                   LocalDate endDate) {
+        return getTimetable(TimetableType.CLASSROOM, classroomId, startDate, endDate,
+                LessonDto::getClassroom,
+                () -> reactiveLessonRepository.findClassroomById(classroomId),
+                "Аудитории с таким ID " + classroomId + " не существует",
+                ClassroomTimetableDto::new);
+    }
+
+    /**
+     * Метод для получения пары по {@code id}.
+     *
+     * @param id уникальный идентификатор пары.
+     * @return пара или ошибка {@link NotFoundException}, если её нет.
+     */
+    public Mono<LessonDto> getLessonById(UUID id) {
+        return reactiveLessonRepository
+                .findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Пары с таким ID " + id + " не существует")));
+    }
+
+    /**
+     * Общая логика получения расписания: сначала кэш, затем один запрос за парами. Заголовок расписания
+     * берётся из первой пары, а отдельный запрос за ним выполняется, только если пар за период нет.
+     */
+    private <H, T> Mono<T> getTimetable(TimetableType type,
+                                        UUID id,
+                                        LocalDate startDate,
+                                        LocalDate endDate,
+                                        Function<LessonDto, H> headerOfLesson,
+                                        Supplier<Mono<H>> headerLoader,
+                                        String notFoundMessage,
+                                        BiFunction<H, List<LessonDto>, T> timetableFactory) {
+        verificationOfDates.checkDates(startDate, endDate);
+
+        T cached = timetableCache.getIfPresent(type, id, startDate, endDate);
+
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        long version = timetableVersions.getVersion(type, id, startDate, endDate);
+
+        return reactiveLessonRepository
+                .findByOwnerAndDateBetween(type, id, startDate, endDate)
+                .collectList()
+                .flatMap(lessons -> (lessons.isEmpty()
+                        ? headerLoader.get().switchIfEmpty(Mono.error(() -> new NotFoundException(notFoundMessage)))
+                        : Mono.just(headerOfLesson.apply(lessons.get(0))))
+                        .map(header -> timetableFactory.apply(header, lessons)))
+                .doOnNext(timetable -> timetableCache.putIfUnchanged(type, id, startDate, endDate, version, timetable));
+    }
+
+}
@@ -0,0 +1,135 @@
+package ru.hits.timeflowapi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.enumeration.TimetableExportFormat;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.exception.BadRequestException;
+import ru.hits.timeflowapi.exception.NotFoundException;
+import ru.hits.timeflowapi.repository.ClassroomRepository;
+import ru.hits.timeflowapi.repository.LessonExportRepository;
+import ru.hits.timeflowapi.repository.StudentGroupRepository;
+import ru.hits.timeflowapi.repository.TeacherRepository;
+import ru.hits.timeflowapi.service.export.CsvTimetableWriter;
+import ru.hits.timeflowapi.service.export.ICalendarTimetableWriter;
+import ru.hits.timeflowapi.service.export.TimetableWriter;
+import ru.hits.timeflowapi.service.helpingservices.VerificationOfDates;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Сервис для выгрузки расписания за длинный период (например, семестр) в {@code iCalendar} или {@code CSV}.
+ * Пары читаются курсором и пишутся в ответ по одной, поэтому расход памяти не зависит от длины периода.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimetableExportService {
+
+    private final LessonExportRepository lessonExportRepository;
+    private final StudentGroupRepository studentGroupRepository;
+    private final TeacherRepository teacherRepository;
+    private final ClassroomRepository classroomRepository;
+    private final VerificationOfDates verificationOfDates;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${timetable.export.max-days}")
+    private Integer maxDays;
+
+    @Value("${timetable.export.time-zone}")
+    private String timeZone;
+
+    @Value("${timetable.export.uid-domain}")
+    private String uidDomain;
+
+    private ZoneId zone;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    private void init() {
+        zone = ZoneId.of(timeZone);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Метод для выгрузки расписания. Даты и существование группы студентов, преподавателя или аудитории
+     * проверяются сразу, а пары читаются уже при записи ответа.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @param format    формат файла.
+     * @return тело ответа, которое пишет расписание в выходной поток.
+     * @throws BadRequestException если даты некорректны или период длиннее {@code timetable.export.max-days} дней.
+     * @throws NotFoundException   если группы студентов, преподавателя или аудитории не существует.
+     */
+    public StreamingResponseBody export(TimetableType type,
+                                       UUID id,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       TimetableExportFormat format) {
+        verificationOfDates.checkDates(startDate, endDate);
+
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxDays) {
+            throw new BadRequestException("Период выгрузки не может быть длиннее " + maxDays + " дней.");
+        }
+
+        String calendarName = getCalendarName(type, id);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            TimetableWriter timetableWriter = format == TimetableExportFormat.CSV
+                    ? new CsvTimetableWriter(writer)
+                    : new ICalendarTimetableWriter(writer, zone, calendarName, uidDomain);
+
+            timetableWriter.begin();
+            readOnlyTransaction.executeWithoutResult(status -> lessonExportRepository
+                    .streamByOwnerAndDateBetween(type, id, startDate, endDate, lesson -> {
+                        try {
+                            timetableWriter.write(lesson);
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                    }));
+            timetableWriter.end();
+            writer.flush();
+        };
+    }
+
+    private String getCalendarName(TimetableType type, UUID id) {
+        return switch (type) {
+            case STUDENT_GROUP -> "Группа " + studentGroupRepository
+                    .findById(id)
+                    .orElseThrow(() -> new NotFoundException("Студенческой группы с таким ID " + id + " не существует"))
+                    .getNumber();
+            case TEACHER -> {
+                TeacherEntity teacher = teacherRepository
+                        .findById(id)
+                        .orElseThrow(() -> new NotFoundException("Преподавателя с таким ID " + id + " не существует"));
+                yield teacher.getSurname() + " " + teacher.getName();
+            }
+            case CLASSROOM -> "Аудитория " + classroomRepository
+                    .findById(id)
+                    .orElseThrow(() -> new NotFoundException("Аудитории с таким ID " + id + " не существует"))
+                    .getNumber();
+        };
+    }
+
+}
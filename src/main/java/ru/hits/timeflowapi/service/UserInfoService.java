@@ -1,6 +1,7 @@
 package ru.hits.timeflowapi.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import ru.hits.timeflowapi.dto.employeepost.EmployeePostDto;
@@ -9,6 +10,7 @@ import ru.hits.timeflowapi.entity.EmployeeDetailsEntity;
 import ru.hits.timeflowapi.entity.StudentDetailsEntity;
 import ru.hits.timeflowapi.entity.UserEntity;
 import ru.hits.timeflowapi.enumeration.Role;
+import ru.hits.timeflowapi.event.UserDetailsChangedEvent;
 import ru.hits.timeflowapi.exception.ForbiddenException;
 import ru.hits.timeflowapi.exception.NotFoundException;
 import ru.hits.timeflowapi.mapper.UserMapper;
@@ -28,6 +30,7 @@ public class UserInfoService {
     private final StudentDetailsRepository studentDetailsRepository;
     private final EmployeeDetailsRepository employeeDetailsRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserDto getUserInfo(UUID id) {
         UserEntity user = getUserById(id);
@@ -64,6 +67,7 @@ public class UserInfoService {
 
         user.setPassword(passwordEncoder.encode(editPasswordDto.getPassword()));
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(id));
 
         return userMapper.userToUserDto(user);
     }
@@ -73,6 +77,7 @@ public class UserInfoService {
 
         user.setEmail(editEmailDto.getEmail());
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(id));
 
         return userMapper.userToUserDto(user);
     }
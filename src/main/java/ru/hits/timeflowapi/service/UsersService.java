@@ -6,6 +6,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.hits.timeflowapi.dto.pagination.CursorPageDto;
 import ru.hits.timeflowapi.dto.user.EmployeeDto;
 import ru.hits.timeflowapi.dto.user.StudentDto;
 import ru.hits.timeflowapi.dto.user.UserDto;
@@ -18,6 +19,11 @@ import ru.hits.timeflowapi.repository.EmployeeDetailsRepository;
 import ru.hits.timeflowapi.repository.StudentDetailsRepository;
 import ru.hits.timeflowapi.repository.UserRepository;
 import ru.hits.timeflowapi.service.helpingservices.CheckPaginationInfoService;
+import ru.hits.timeflowapi.service.helpingservices.KeysetPaginationService;
+import ru.hits.timeflowapi.util.KeysetSort;
+
+import java.util.List;
+import java.util.Map;
 
 import static ru.hits.timeflowapi.enumeration.Role.ROLE_USER;
 
@@ -29,9 +35,18 @@ public class UsersService {
     private final StudentDetailsRepository studentDetailsRepository;
     private final EmployeeDetailsRepository employeeDetailsRepository;
     private final UserMapper userMapper;
+    private final KeysetPaginationService keysetPaginationService;
     private static final String PROPERTY = "UserName";
     private static final String PROPERTY_FOR_USER_ROLE = "Name";
     private static final Role ROLE = ROLE_USER;
+    private static final KeysetSort<UserEntity> USER_SORT =
+            KeysetSort.byString("name", "id", UserEntity::getName, UserEntity::getId);
+    private static final KeysetSort<StudentDetailsEntity> STUDENT_SORT = KeysetSort.byString(
+            "user.name", "user.id", student -> student.getUser().getName(), student -> student.getUser().getId()
+    );
+    private static final KeysetSort<EmployeeDetailsEntity> EMPLOYEE_SORT = KeysetSort.byString(
+            "user.name", "user.id", employee -> employee.getUser().getName(), employee -> employee.getUser().getId()
+    );
 
 
     public Page<UserDto> getUsersPage(int pageNumber,
@@ -66,4 +81,83 @@ public class UsersService {
 
         return employees.map(userMapper::employeeDetailsToEmployeeDto);
     }
+
+    /**
+     * Метод для получения страницы внешних пользователей по курсору. Сортировка по имени,
+     * как и в {@link #getUsersPage(int, int, Sort.Direction)}, но время получения страницы не зависит от её номера.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param pageSize  размер страницы.
+     * @param direction направление сортировки.
+     * @param withTotal нужно ли посчитать общее количество пользователей.
+     * @return страница пользователей.
+     */
+    public CursorPageDto<UserDto> getUsersByCursor(String cursor,
+                                                   int pageSize,
+                                                   Sort.Direction direction,
+                                                   boolean withTotal) {
+        return keysetPaginationService.getPage(
+                UserEntity.class,
+                Map.of("role", ROLE),
+                List.of(),
+                USER_SORT,
+                cursor,
+                pageSize,
+                direction,
+                withTotal,
+                userMapper::userToUserDto
+        );
+    }
+
+    /**
+     * Метод для получения страницы студентов по курсору с сортировкой по имени.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param pageSize  размер страницы.
+     * @param direction направление сортировки.
+     * @param withTotal нужно ли посчитать общее количество студентов.
+     * @return страница студентов.
+     */
+    public CursorPageDto<StudentDto> getStudentsByCursor(String cursor,
+                                                         int pageSize,
+                                                         Sort.Direction direction,
+                                                         boolean withTotal) {
+        return keysetPaginationService.getPage(
+                StudentDetailsEntity.class,
+                Map.of(),
+                StudentDetailsRepository.LISTING_FETCH_PATHS,
+                STUDENT_SORT,
+                cursor,
+                pageSize,
+                direction,
+                withTotal,
+                userMapper::studentDetailsToStudentDto
+        );
+    }
+
+    /**
+     * Метод для получения страницы сотрудников по курсору с сортировкой по имени.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param pageSize  размер страницы.
+     * @param direction направление сортировки.
+     * @param withTotal нужно ли посчитать общее количество сотрудников.
+     * @return страница сотрудников.
+     */
+    public CursorPageDto<EmployeeDto> getEmployeesByCursor(String cursor,
+                                                           int pageSize,
+                                                           Sort.Direction direction,
+                                                           boolean withTotal) {
+        return keysetPaginationService.getPage(
+                EmployeeDetailsEntity.class,
+                Map.of(),
+                EmployeeDetailsRepository.LISTING_FETCH_PATHS,
+                EMPLOYEE_SORT,
+                cursor,
+                pageSize,
+                direction,
+                withTotal,
+                userMapper::employeeDetailsToEmployeeDto
+        );
+    }
 }
\ No newline at end of file
@@ -1,36 +1,98 @@
 package ru.hits.timeflowapi.service.auth;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.hits.timeflowapi.dto.signin.SignInDto;
 import ru.hits.timeflowapi.dto.signin.TokensDto;
 import ru.hits.timeflowapi.entity.UserEntity;
+import ru.hits.timeflowapi.exception.ServiceUnavailableException;
+import ru.hits.timeflowapi.exception.TooManyRequestsException;
 import ru.hits.timeflowapi.exception.UnauthorizedException;
 import ru.hits.timeflowapi.repository.UserRepository;
 import ru.hits.timeflowapi.security.JWTService;
+import ru.hits.timeflowapi.security.PasswordHashingService;
+import ru.hits.timeflowapi.security.SignInRateLimiter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class SignInService {
 
+    private static final String BAD_CREDENTIALS_MESSAGE = "Некорректная почта и/или пароль.";
+
     private final JWTService jwtService;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final SignInRateLimiter signInRateLimiter;
+    private final Executor applicationTaskExecutor;
 
+    /**
+     * Метод для аутентификации пользователя. Пароль проверяется на пуле хэширования,
+     * поэтому поток запроса не занят на время работы {@code BCrypt}. Выпуск токенов пишет в БД,
+     * поэтому он выполняется на {@code applicationTaskExecutor}, а не на пуле хэширования.
+     *
+     * @param signInDto     почта и пароль.
+     * @param clientAddress {@code IP} адрес клиента.
+     * @return future с парой {@code access} и {@code refresh} токенов.
+     * @throws TooManyRequestsException    возникает, если превышена частота попыток входа.
+     * @throws ServiceUnavailableException возникает, если очередь хэширования заполнена.
+     */
+    public CompletableFuture<TokensDto> signIn(SignInDto signInDto, String clientAddress)
+            throws TooManyRequestsException, ServiceUnavailableException {
+        signInRateLimiter.check(clientAddress, signInDto.getEmail());
 
-    public TokensDto signIn(SignInDto signInDto) {
         UserEntity user = userRepository
                 .findByEmail(signInDto.getEmail())
                 .orElseThrow(() -> {
-                    throw new UnauthorizedException("Некорректная почта и/или пароль.");
+                    throw new UnauthorizedException(BAD_CREDENTIALS_MESSAGE);
                 });
 
-        if (!passwordEncoder.matches(signInDto.getPassword(), user.getPassword())) {
-            throw new UnauthorizedException("Некорректная почта и/или пароль.");
-        }
+        UUID userId = user.getId();
+        String encodedPassword = user.getPassword();
+
+        return passwordHashingService
+                .matches(signInDto.getPassword(), encodedPassword)
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        throw new UnauthorizedException(BAD_CREDENTIALS_MESSAGE);
+                    }
 
-        return jwtService.generateTokens(user.getId());
+                    if (passwordHashingService.needsRehash(encodedPassword)) {
+                        rehash(userId, signInDto.getPassword(), encodedPassword);
+                    }
+
+                    return jwtService.generateTokens(userId);
+                }, applicationTaskExecutor);
+    }
+
+    /**
+     * Метод для фонового пересчёта хэша пароля с текущей стоимостью {@code BCrypt}. Ответ на вход
+     * его не ждёт. Если очередь хэширования заполнена, то пересчёт откладывается до следующего входа.
+     *
+     * @param userId          {@code id} пользователя.
+     * @param rawPassword     пароль, который только что прошёл проверку.
+     * @param encodedPassword текущий хэш пароля.
+     */
+    private void rehash(UUID userId, String rawPassword, String encodedPassword) {
+        try {
+            passwordHashingService
+                    .encode(rawPassword)
+                    .thenAcceptAsync(
+                            newPassword -> userRepository.updatePassword(userId, encodedPassword, newPassword),
+                            applicationTaskExecutor
+                    )
+                    .exceptionally(exception -> {
+                        log.error("Ошибка при пересчёте хэша пароля пользователя {}", userId, exception);
+                        return null;
+                    });
+        } catch (ServiceUnavailableException exception) {
+            log.debug("Пересчёт хэша пароля пользователя {} отложен.", userId);
+        }
     }
 
 }
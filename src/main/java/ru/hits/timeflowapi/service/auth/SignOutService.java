@@ -1,10 +1,12 @@
 package ru.hits.timeflowapi.service.auth;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import ru.hits.timeflowapi.entity.UserEntity;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hits.timeflowapi.event.UserDetailsChangedEvent;
 import ru.hits.timeflowapi.exception.RefreshTokenNotValidException;
-import ru.hits.timeflowapi.repository.UserRepository;
+import ru.hits.timeflowapi.security.RefreshSessionService;
 
 import java.util.UUID;
 
@@ -12,17 +14,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SignOutService {
 
-    private final UserRepository userRepository;
+    private final RefreshSessionService refreshSessionService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public void signOut(UUID userId, String refreshToken) {
-        UserEntity user = userRepository
-                .findByIdAndRefreshToken(userId, refreshToken)
-                .orElseThrow(() -> {
-                    throw new RefreshTokenNotValidException("Невалидный refresh токен.");
-                });
+        if (!refreshSessionService.revoke(userId, refreshToken)) {
+            throw new RefreshTokenNotValidException("Невалидный refresh токен.");
+        }
 
-        user.setRefreshToken(null);
-        userRepository.save(user);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(userId));
     }
 
 }
@@ -17,9 +17,18 @@ import ru.hits.timeflowapi.repository.EmployeeDetailsRepository;
 import ru.hits.timeflowapi.repository.StudentDetailsRepository;
 import ru.hits.timeflowapi.repository.UserRepository;
 import ru.hits.timeflowapi.security.JWTService;
+import ru.hits.timeflowapi.security.PasswordHashingService;
 import ru.hits.timeflowapi.service.LessonComponentsService;
 import ru.hits.timeflowapi.service.request.CreateRequestService;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Сервис регистрации. Пароль хэшируется на пуле {@link PasswordHashingService}, а сохранение пользователя
+ * и выпуск токенов выполняются на {@code applicationTaskExecutor}, чтобы работа с БД не занимала
+ * потоки, рассчитанные на количество процессоров.
+ */
 @Service
 @RequiredArgsConstructor
 public class SignUpService {
@@ -31,90 +40,104 @@ public class SignUpService {
     private final EmployeeDetailsRepository employeeDetailsRepository;
     private final StudentDetailsRepository studentDetailsRepository;
     private final CreateRequestService createRequestService;
+    private final PasswordHashingService passwordHashingService;
+    private final Executor applicationTaskExecutor;
 
     /**
      * Метод для регистрации внешнего пользователя.
      *
      * @param userSignUpDTO информация для регистрации внешнего пользователя.
-     * @return пара {@code access} и {@code refresh} токенов.
+     * @return future с парой {@code access} и {@code refresh} токенов.
      */
-    public TokensDto userSignUp(UserSignUpDto userSignUpDTO) {
-        UserEntity user = userMapper.basicSignUpDetailsToUser(
-                userSignUpDTO,
-                Role.ROLE_USER,
-                AccountStatus.ACTIVATED
-        );
-
-        user = userRepository.save(user);
-        return jwtService.generateTokens(user.getId());
+    public CompletableFuture<TokensDto> userSignUp(UserSignUpDto userSignUpDTO) {
+        return passwordHashingService.encode(userSignUpDTO.getPassword()).thenApplyAsync(password -> {
+            UserEntity user = userMapper.basicSignUpDetailsToUser(
+                    userSignUpDTO,
+                    password,
+                    Role.ROLE_USER,
+                    AccountStatus.ACTIVATED
+            );
+
+            user = userRepository.save(user);
+            return jwtService.generateTokens(user.getId());
+        }, applicationTaskExecutor);
     }
 
     /**
      * Метод для регистрации студентов.
      *
      * @param studentSignUpDto dto с информации о студенте.
-     * @return пара {@code access} и {@code refresh} токенов.
+     * @return future с парой {@code access} и {@code refresh} токенов.
      */
-    public TokensDto studentSignUp(StudentSignUpDto studentSignUpDto) {
+    public CompletableFuture<TokensDto> studentSignUp(StudentSignUpDto studentSignUpDto) {
         StudentGroupEntity studentGroupEntity
                 = lessonComponentsService.getGroupEntityById(studentSignUpDto.getGroupId());
 
-        UserEntity user = userMapper.basicSignUpDetailsToUser(
-                studentSignUpDto,
-                Role.ROLE_STUDENT,
-                AccountStatus.PENDING
-        );
+        return passwordHashingService.encode(studentSignUpDto.getPassword()).thenApplyAsync(password -> {
+            UserEntity user = userMapper.basicSignUpDetailsToUser(
+                    studentSignUpDto,
+                    password,
+                    Role.ROLE_STUDENT,
+                    AccountStatus.PENDING
+            );
 
-        user = userRepository.save(user);
+            user = userRepository.save(user);
 
-        StudentDetailsEntity studentDetails = StudentDetailsEntity
-                .builder()
-                .user(user)
-                .studentNumber(studentSignUpDto.getStudentNumber())
-                .group(studentGroupEntity)
-                .build();
+            StudentDetailsEntity studentDetails = StudentDetailsEntity
+                    .builder()
+                    .user(user)
+                    .studentNumber(studentSignUpDto.getStudentNumber())
+                    .group(studentGroupEntity)
+                    .build();
 
-        studentDetails = studentDetailsRepository.save(studentDetails);
-        createRequestService.createAndSaveStudentRequest(studentDetails);
+            studentDetails = studentDetailsRepository.save(studentDetails);
+            createRequestService.createAndSaveStudentRequest(studentDetails);
 
-        return jwtService.generateTokens(user.getId());
+            return jwtService.generateTokens(user.getId());
+        }, applicationTaskExecutor);
     }
 
     /**
      * Метод для регистрации сотрудника.
      *
      * @param employeeSignUpDto dto с информацией о сотруднике.
-     * @return пара {@code access} и {@code refresh} токенов.
+     * @return future с парой {@code access} и {@code refresh} токенов.
      */
-    public TokensDto employeeSignUp(EmployeeSignUpDto employeeSignUpDto) {
-        EmployeeDetailsEntity employeeDetails = basicEmployeeSignUp(employeeSignUpDto);
-        createRequestService.createAndSaveEmployeeRequest(employeeDetails);
+    public CompletableFuture<TokensDto> employeeSignUp(EmployeeSignUpDto employeeSignUpDto) {
+        return passwordHashingService.encode(employeeSignUpDto.getPassword()).thenApplyAsync(password -> {
+            EmployeeDetailsEntity employeeDetails = basicEmployeeSignUp(employeeSignUpDto, password);
+            createRequestService.createAndSaveEmployeeRequest(employeeDetails);
 
-        return jwtService.generateTokens(employeeDetails.getUser().getId());
+            return jwtService.generateTokens(employeeDetails.getUser().getId());
+        }, applicationTaskExecutor);
     }
 
     /**
      * Метод для регистрации сотрудника с должностью "Составитель расписаний".
      *
      * @param employeeSignUpDto dto с информацией о сотруднике.
-     * @return пара {@code access} и {@code refresh} токенов.
+     * @return future с парой {@code access} и {@code refresh} токенов.
      */
-    public TokensDto scheduleMakerSignUp(EmployeeSignUpDto employeeSignUpDto) {
-        EmployeeDetailsEntity employeeDetails = basicEmployeeSignUp(employeeSignUpDto);
-        createRequestService.createAndSaveScheduleMakerRequest(employeeDetails);
+    public CompletableFuture<TokensDto> scheduleMakerSignUp(EmployeeSignUpDto employeeSignUpDto) {
+        return passwordHashingService.encode(employeeSignUpDto.getPassword()).thenApplyAsync(password -> {
+            EmployeeDetailsEntity employeeDetails = basicEmployeeSignUp(employeeSignUpDto, password);
+            createRequestService.createAndSaveScheduleMakerRequest(employeeDetails);
 
-        return jwtService.generateTokens(employeeDetails.getUser().getId());
+            return jwtService.generateTokens(employeeDetails.getUser().getId());
+        }, applicationTaskExecutor);
     }
 
     /**
      * Общая логика для создания и сохранения сущности сотрудника в БД.
      *
      * @param employeeSignUpDTO детали о сотруднике.
+     * @param encodedPassword   хэш пароля сотрудника.
      * @return сохраненную сущность сотрудника в БД.
      */
-    public EmployeeDetailsEntity basicEmployeeSignUp(EmployeeSignUpDto employeeSignUpDTO) {
+    public EmployeeDetailsEntity basicEmployeeSignUp(EmployeeSignUpDto employeeSignUpDTO, String encodedPassword) {
         UserEntity user = userMapper.basicSignUpDetailsToUser(
                 employeeSignUpDTO,
+                encodedPassword,
                 Role.ROLE_EMPLOYEE,
                 AccountStatus.PENDING
         );
@@ -0,0 +1,32 @@
+package ru.hits.timeflowapi.service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Расписание из {@link TimetableCache} вместе с его {@code ETag}. {@code ETag} вычисляется по JSON
+ * расписания при загрузке в кэш, поэтому всегда соответствует именно тому содержимому, с которым
+ * хранится, и одинаков на всех экземплярах приложения.
+ *
+ * @param <T> тип DTO расписания.
+ */
+@Value
+@AllArgsConstructor
+public class CachedTimetable<T> {
+
+    T timetable;
+
+    String eTag;
+
+    /**
+     * Метод для вычисления {@code ETag} по сериализованному расписанию.
+     *
+     * @param json расписание в JSON.
+     * @return {@code ETag} в кавычках.
+     */
+    public static String eTagOf(byte[] json) {
+        return "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+}
@@ -0,0 +1,252 @@
+package ru.hits.timeflowapi.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.exception.InternalException;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.util.TransactionHooks;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Кэш расписаний групп студентов, преподавателей и аудиторий. Ключ - тип расписания, {@code id}
+ * и период. Размер кэша ограничен, записи живут не дольше {@code timetable.cache.ttl-min} минут.
+ * При изменении пары удаляются только те расписания, в которые она попадает: её группы, преподавателя
+ * и аудитории, с периодом, содержащим дату пары, а версии их недель в {@link TimetableVersions}
+ * увеличиваются. DTO хранятся вместе с {@code ETag}, вычисленным по их JSON ({@link CachedTimetable}).
+ * Отдельно от DTO кэшируются уже сериализованные расписания ({@link TimetableSnapshot}),
+ * они удаляются по тем же правилам. Статистика кэшей публикуется в метриках под именами
+ * {@code timetable} и {@code timetable-snapshot}.
+ * <p>
+ * Удаление при изменении пары не видит загрузки, которые ещё выполняются: загрузка, начатая до коммита,
+ * может положить в кэш старые данные уже после удаления. Поэтому версия расписания запоминается до загрузки
+ * и проверяется после сохранения, и если она изменилась, то загруженное расписание из кэша удаляется.
+ * Версии увеличиваются до удаления из кэша, так что устаревшую запись убирает либо удаление, либо эта проверка.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimetableCache {
+
+    private final MeterRegistry meterRegistry;
+    private final TimetableVersions timetableVersions;
+    private final ObjectMapper objectMapper;
+
+    @Value("${timetable.cache.max-size}")
+    private Long maxSize;
+
+    @Value("${timetable.cache.ttl-min}")
+    private Long ttlMin;
+
+    private Cache<TimetableKey, CachedTimetable<?>> cache;
+
+    private Cache<TimetableKey, TimetableSnapshot> snapshots;
+
+    @PostConstruct
+    private void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMin))
+                .recordStats()
+                .build();
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMin))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "timetable");
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "timetable-snapshot");
+    }
+
+    /**
+     * Метод для получения расписания из кэша. Если расписания в кэше нет, то оно загружается
+     * и сохраняется, если за время загрузки расписание не изменилось. Исключения загрузки
+     * пробрасываются дальше и не кэшируются.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @param loader    загрузчик расписания.
+     * @param <T>       тип DTO расписания.
+     * @return расписание с его {@code ETag}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedTimetable<T> get(TimetableType type,
+                                      UUID id,
+                                      LocalDate startDate,
+                                      LocalDate endDate,
+                                      Supplier<T> loader) {
+        return (CachedTimetable<T>) getUnchanged(cache, new TimetableKey(type, id, startDate, endDate),
+                () -> withETag(loader.get()));
+    }
+
+    /**
+     * Метод для получения расписания из кэша без загрузки. Нужен для неблокирующей загрузки,
+     * которая не может выполняться внутри {@link #get(TimetableType, UUID, LocalDate, LocalDate, Supplier)}.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @param <T>       тип DTO расписания.
+     * @return расписание или {@code null}, если его нет в кэше.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(TimetableType type, UUID id, LocalDate startDate, LocalDate endDate) {
+        CachedTimetable<?> cached = cache.getIfPresent(new TimetableKey(type, id, startDate, endDate));
+
+        return cached == null ? null : (T) cached.getTimetable();
+    }
+
+    /**
+     * Метод для сохранения расписания, загруженного в обход кэша. Если за время загрузки недели периода
+     * изменились, то расписание могло устареть и в кэше не остаётся.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @param version   версия расписания из {@link TimetableVersions}, полученная до начала загрузки.
+     * @param timetable расписание.
+     */
+    public void putIfUnchanged(TimetableType type,
+                               UUID id,
+                               LocalDate startDate,
+                               LocalDate endDate,
+                               long version,
+                               Object timetable) {
+        TimetableKey key = new TimetableKey(type, id, startDate, endDate);
+        CachedTimetable<?> cached = withETag(timetable);
+
+        cache.put(key, cached);
+        removeIfChanged(cache, key, version, cached);
+    }
+
+    /**
+     * Метод для получения сериализованного расписания из кэша. Если его в кэше нет, то оно
+     * строится загрузчиком и сохраняется.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @param loader    загрузчик сериализованного расписания.
+     * @return сериализованное расписание.
+     */
+    public TimetableSnapshot getSnapshot(TimetableType type,
+                                         UUID id,
+                                         LocalDate startDate,
+                                         LocalDate endDate,
+                                         Supplier<TimetableSnapshot> loader) {
+        return getUnchanged(snapshots, new TimetableKey(type, id, startDate, endDate), loader);
+    }
+
+    /**
+     * Метод для получения значения из кэша с проверкой версии: если за время загрузки расписание изменилось,
+     * то значение возвращается, но в кэше не остаётся. Если значение загрузил другой поток, то проверка
+     * может удалить и его - это лишь лишняя загрузка, устаревшим оно в кэше не останется.
+     */
+    private <V> V getUnchanged(Cache<TimetableKey, V> cache, TimetableKey key, Supplier<? extends V> loader) {
+        long version = timetableVersions.getVersion(key.type(), key.id(), key.startDate(), key.endDate());
+        V value = cache.get(key, ignored -> loader.get());
+        removeIfChanged(cache, key, version, value);
+
+        return value;
+    }
+
+    private <T> CachedTimetable<T> withETag(T timetable) {
+        try {
+            return new CachedTimetable<>(timetable, CachedTimetable.eTagOf(objectMapper.writeValueAsBytes(timetable)));
+        } catch (JsonProcessingException exception) {
+            throw new InternalException("Не удалось сериализовать расписание: " + exception.getMessage());
+        }
+    }
+
+    private <V> void removeIfChanged(Cache<TimetableKey, V> cache, TimetableKey key, long version, V value) {
+        if (version != timetableVersions.getVersion(key.type(), key.id(), key.startDate(), key.endDate())) {
+            cache.asMap().remove(key, value);
+        }
+    }
+
+    /**
+     * Метод для удаления из кэша всех расписаний, в которые попадает пара. Внутри транзакции
+     * удаление выполняется после её коммита, чтобы кэш не заполнился данными до коммита.
+     *
+     * @param slot место пары в расписании.
+     */
+    public void evict(LessonSlot slot) {
+        evict(List.of(slot));
+    }
+
+    /**
+     * Метод для удаления из кэша всех расписаний, в которые попадает хотя бы одна из пар,
+     * и увеличения версий их недель. Кэш просматривается один раз, сколько бы пар ни было передано.
+     * Версии увеличиваются до удаления, чтобы загрузки, которые удаление не видит, не оставили в кэше
+     * старые данные.
+     *
+     * @param slots места пар в расписании.
+     */
+    public void evict(Collection<LessonSlot> slots) {
+        Map<TimetableOwner, NavigableSet<LocalDate>> datesByOwner = new HashMap<>();
+
+        for (LessonSlot slot : slots) {
+            addDate(datesByOwner, TimetableType.STUDENT_GROUP, slot.getStudentGroupId(), slot.getDate());
+            addDate(datesByOwner, TimetableType.TEACHER, slot.getTeacherId(), slot.getDate());
+            addDate(datesByOwner, TimetableType.CLASSROOM, slot.getClassroomId(), slot.getDate());
+        }
+
+        TransactionHooks.afterCommit(() -> {
+            datesByOwner.forEach((owner, dates) -> dates.forEach(date ->
+                    timetableVersions.increment(owner.type(), owner.id(), date)));
+
+            cache.asMap().keySet().removeIf(key -> key.containsAny(datesByOwner));
+            snapshots.asMap().keySet().removeIf(key -> key.containsAny(datesByOwner));
+        });
+    }
+
+    private static void addDate(Map<TimetableOwner, NavigableSet<LocalDate>> datesByOwner,
+                                TimetableType type,
+                                UUID id,
+                                LocalDate date) {
+        datesByOwner.computeIfAbsent(new TimetableOwner(type, id), owner -> new TreeSet<>()).add(date);
+    }
+
+    private record TimetableOwner(TimetableType type, UUID id) {
+    }
+
+    private record TimetableKey(TimetableType type, UUID id, LocalDate startDate, LocalDate endDate) {
+
+        private boolean containsAny(Map<TimetableOwner, NavigableSet<LocalDate>> datesByOwner) {
+            NavigableSet<LocalDate> dates = datesByOwner.get(new TimetableOwner(type, id));
+
+            if (dates == null) {
+                return false;
+            }
+
+            LocalDate date = dates.ceiling(startDate);
+
+            return date != null && !date.isAfter(endDate);
+        }
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package ru.hits.timeflowapi.service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Расписание, уже сериализованное в JSON. Хранится и в исходном, и в сжатом {@code gzip} виде,
+ * чтобы ответ можно было записать без сериализации и сжатия, вместе с {@code ETag} этого JSON
+ * (см. {@link CachedTimetable#eTagOf(byte[])}).
+ */
+@Value
+@AllArgsConstructor
+public class TimetableSnapshot {
+
+    byte[] json;
+
+    byte[] gzip;
+
+    String eTag;
+
+}
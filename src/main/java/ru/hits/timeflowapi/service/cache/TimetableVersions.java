@@ -0,0 +1,87 @@
+package ru.hits.timeflowapi.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+
+import jakarta.annotation.PostConstruct;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+
+/**
+ * Версии недельных расписаний групп студентов, преподавателей и аудиторий. Версия недели
+ * увеличивается при каждом изменении пары, которая в неё попадает. По версиям {@link TimetableCache}
+ * узнаёт, что расписание изменилось, пока оно загружалось.
+ * <p>
+ * Версия нужна только на время одной загрузки: её читают до загрузки и сверяют сразу после. Поэтому версии,
+ * к которым не обращались {@code timetable.versions.expire-after-access-min} минут, удаляются, и количество
+ * версий в памяти ограничено недавно изменёнными и читаемыми неделями, а не всеми, что когда-либо менялись.
+ * Время хранения должно быть намного больше самой долгой загрузки расписания.
+ */
+@Component
+public class TimetableVersions {
+
+    @Value("${timetable.versions.expire-after-access-min}")
+    private Long expireAfterAccessMin;
+
+    /**
+     * Источник времени для удаления версий, в тестах заменяется управляемым.
+     */
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Cache<WeekKey, Long> versions;
+
+    @PostConstruct
+    private void init() {
+        versions = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMin))
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Метод для получения версии расписания за период. Пока версия недели хранится, она только растёт,
+     * поэтому за время загрузки их сумма меняется при изменении любой из недель периода.
+     *
+     * @param type      тип расписания.
+     * @param id        уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param startDate дата начала периода.
+     * @param endDate   дата конца периода.
+     * @return версия расписания.
+     */
+    public long getVersion(TimetableType type, UUID id, LocalDate startDate, LocalDate endDate) {
+        long version = 0;
+
+        for (LocalDate week = weekOf(startDate); !week.isAfter(endDate); week = week.plusWeeks(1)) {
+            version += versions.asMap().getOrDefault(new WeekKey(type, id, week), 0L);
+        }
+
+        return version;
+    }
+
+    /**
+     * Метод для увеличения версии недели, в которую попадает дата.
+     *
+     * @param type тип расписания.
+     * @param id   уникальный идентификатор группы студентов, преподавателя или аудитории.
+     * @param date дата изменившейся пары.
+     */
+    public void increment(TimetableType type, UUID id, LocalDate date) {
+        versions.asMap().merge(new WeekKey(type, id, weekOf(date)), 1L, Long::sum);
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record WeekKey(TimetableType type, UUID id, LocalDate monday) {
+    }
+
+}
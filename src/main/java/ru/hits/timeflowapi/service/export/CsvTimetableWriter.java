@@ -0,0 +1,64 @@
+package ru.hits.timeflowapi.service.export;
+
+import lombok.RequiredArgsConstructor;
+import ru.hits.timeflowapi.repository.projection.LessonExportRow;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Запись расписания в {@code CSV} по RFC 4180: разделитель - запятая, строки - {@code CRLF},
+ * значения с запятыми, кавычками или переводами строк заключаются в кавычки.
+ */
+@RequiredArgsConstructor
+public class CsvTimetableWriter implements TimetableWriter {
+
+    private static final String HEADER = "date,begin_time,end_time,subject,lesson_type," +
+            "teacher_surname,teacher_name,teacher_patronymic,classroom,student_group";
+
+    private final Writer writer;
+
+    @Override
+    public void begin() throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(LessonExportRow lesson) throws IOException {
+        writer.write(lesson.getDate().toString());
+        writeField(lesson.getBeginTime());
+        writeField(lesson.getEndTime());
+        writeField(lesson.getSubjectName());
+        writeField(lesson.getLessonType() == null ? null : lesson.getLessonType().name());
+        writeField(lesson.getTeacherSurname());
+        writeField(lesson.getTeacherName());
+        writeField(lesson.getTeacherPatronymic());
+        writeField(lesson.getClassroomNumber());
+        writeField(String.valueOf(lesson.getStudentGroupNumber()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void end() {
+        // У CSV нет завершающей части.
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(',');
+
+        if (value == null) {
+            return;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,181 @@
+package ru.hits.timeflowapi.service.export;
+
+import ru.hits.timeflowapi.enumeration.LessonType;
+import ru.hits.timeflowapi.repository.projection.LessonExportRow;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Запись расписания в формате {@code iCalendar} (RFC 5545). Каждая пара - отдельное событие {@code VEVENT}
+ * с постоянным {@code UID}, поэтому при повторном импорте календарь обновляет события, а не дублирует их.
+ * Время пар переводится из часового пояса университета в {@code UTC}, чтобы не описывать {@code VTIMEZONE}.
+ * Длинные строки переносятся по 75 байт, как требует формат.
+ */
+public class ICalendarTimetableWriter implements TimetableWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter TIMESLOT_TIME = DateTimeFormatter.ofPattern("H:mm");
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final Map<LessonType, String> LESSON_TYPE_NAMES = new EnumMap<>(Map.of(
+            LessonType.LECTURE, "Лекция",
+            LessonType.SEMINAR, "Семинар",
+            LessonType.PRACTICAL_LESSON, "Практика",
+            LessonType.LABORATORY_LESSON, "Лабораторная работа",
+            LessonType.EXAM, "Экзамен"
+    ));
+
+    private final Writer writer;
+
+    private final ZoneId zone;
+
+    private final String calendarName;
+
+    private final String timestamp;
+
+    private final String uidDomain;
+
+    /**
+     * Конструктор.
+     *
+     * @param writer       куда писать.
+     * @param zone         часовой пояс, в котором заданы таймслоты.
+     * @param calendarName название календаря.
+     * @param uidDomain    домен для {@code UID} событий.
+     */
+    public ICalendarTimetableWriter(Writer writer, ZoneId zone, String calendarName, String uidDomain) {
+        this.writer = writer;
+        this.zone = zone;
+        this.calendarName = calendarName;
+        this.uidDomain = uidDomain;
+        this.timestamp = UTC_DATE_TIME.format(Instant.now().atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    public void begin() throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//" + uidDomain + "//Timetable export//RU");
+        writeLine("CALSCALE:GREGORIAN");
+        writeLine("METHOD:PUBLISH");
+        writeLine("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    @Override
+    public void write(LessonExportRow lesson) throws IOException {
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + lesson.getId() + "@" + uidDomain);
+        writeLine("DTSTAMP:" + timestamp);
+
+        LocalTime begin = parseTime(lesson.getBeginTime());
+        LocalTime end = parseTime(lesson.getEndTime());
+
+        if (begin != null && end != null) {
+            writeLine("DTSTART:" + toUtc(lesson.getDate(), begin));
+            writeLine("DTEND:" + toUtc(lesson.getDate(), end));
+        } else {
+            writeLine("DTSTART;VALUE=DATE:" + DATE.format(lesson.getDate()));
+        }
+
+        String lessonType = LESSON_TYPE_NAMES.get(lesson.getLessonType());
+        writeLine("SUMMARY:" + escape(lessonType == null
+                ? lesson.getSubjectName()
+                : lesson.getSubjectName() + " (" + lessonType + ")"));
+        writeLine("LOCATION:" + escape(lesson.getClassroomNumber()));
+        writeLine("DESCRIPTION:" + escape("Преподаватель: " + teacherFullName(lesson)
+                + "\nГруппа: " + lesson.getStudentGroupNumber()));
+        writeLine("END:VEVENT");
+    }
+
+    @Override
+    public void end() throws IOException {
+        writeLine("END:VCALENDAR");
+    }
+
+    private String toUtc(LocalDate date, LocalTime time) {
+        return UTC_DATE_TIME.format(ZonedDateTime.of(date, time, zone).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static LocalTime parseTime(String time) {
+        try {
+            return time == null ? null : LocalTime.parse(time.trim(), TIMESLOT_TIME);
+        } catch (DateTimeParseException exception) {
+            return null;
+        }
+    }
+
+    private static String teacherFullName(LessonExportRow lesson) {
+        StringJoiner name = new StringJoiner(" ");
+
+        for (String part : List.of(
+                Objects.toString(lesson.getTeacherSurname(), ""),
+                Objects.toString(lesson.getTeacherName(), ""),
+                Objects.toString(lesson.getTeacherPatronymic(), ""))) {
+            if (!part.isBlank()) {
+                name.add(part);
+            }
+        }
+
+        return name.toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        StringBuilder escaped = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+
+            switch (symbol) {
+                case '\\', ';', ',' -> escaped.append('\\').append(symbol);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(symbol);
+            }
+        }
+
+        return escaped.toString();
+    }
+
+    /**
+     * Метод для записи строки контента с переносом по 75 байт {@code UTF-8}. Продолжение строки
+     * начинается с пробела, суррогатные пары не разрываются.
+     */
+    private void writeLine(String line) throws IOException {
+        int octets = 0;
+
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+
+            writer.write(line, i, Character.charCount(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+
+        writer.write("\r\n");
+    }
+
+}
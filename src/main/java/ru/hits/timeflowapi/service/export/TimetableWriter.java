@@ -0,0 +1,35 @@
+package ru.hits.timeflowapi.service.export;
+
+import ru.hits.timeflowapi.repository.projection.LessonExportRow;
+
+import java.io.IOException;
+
+/**
+ * Потоковая запись расписания в файл определённого формата. Пары передаются по одной,
+ * writer не накапливает их и пишет каждую сразу.
+ */
+public interface TimetableWriter {
+
+    /**
+     * Метод для записи начала файла.
+     *
+     * @throws IOException ошибка записи.
+     */
+    void begin() throws IOException;
+
+    /**
+     * Метод для записи одной пары.
+     *
+     * @param lesson пара.
+     * @throws IOException ошибка записи.
+     */
+    void write(LessonExportRow lesson) throws IOException;
+
+    /**
+     * Метод для записи конца файла.
+     *
+     * @throws IOException ошибка записи.
+     */
+    void end() throws IOException;
+
+}
@@ -1,27 +1,30 @@
 package ru.hits.timeflowapi.service.helpingservices;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import ru.hits.timeflowapi.entity.LessonEntity;
 import ru.hits.timeflowapi.exception.ConflictException;
-import ru.hits.timeflowapi.repository.*;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Сервис, предназначенный для проверки доступности
  * аудитории/преподавателя/таймслота в конкретное время.
+ * Проверки одной даты выполняются по {@link LessonOccupancyIndex}: в БД идёт только подтверждение найденной занятости.
  */
 @Service
 @RequiredArgsConstructor
 public class CheckClassroomAndTeacherAndTimeslotAccessibility {
 
+    private final LessonOccupancyIndex lessonOccupancyIndex;
     private final LessonRepository lessonRepository;
-    private final TimeslotRepository timeslotRepository;
-    private final TeacherRepository teacherRepository;
-    private final ClassroomRepository classroomRepository;
-    private final StudentGroupRepository studentGroupRepository;
 
     /**
      * Метод для проверки того, свободен преподаватель или нет.
@@ -32,14 +35,8 @@ public class CheckClassroomAndTeacherAndTimeslotAccessibility {
      * @throws ConflictException исключение, которое выбрасывается, если преподаватель занят.
      */
     public void checkTeacherIsFree(UUID timeslotId, UUID teacherId, LocalDate date) {
-        LessonEntity lesson = lessonRepository.findByTimeslotAndTeacherAndDate(
-                timeslotRepository.findById(timeslotId),
-                teacherRepository.findById(teacherId),
-                date);
-
-        if (lesson != null) {
-            throw new ConflictException(
-                    "Преподаватель с ID " + teacherId + " в таймслот с ID " + timeslotId + " на дату " + date + " занят");
+        if (lessonOccupancyIndex.isTeacherBusy(date, timeslotId, teacherId)) {
+            throw new ConflictException(teacherBusyMessage(timeslotId, teacherId, date));
         }
     }
 
@@ -52,14 +49,8 @@ public class CheckClassroomAndTeacherAndTimeslotAccessibility {
      * @throws ConflictException исключение, которое выбрасывается, если аудитория занята.
      */
     public void checkClassroomIsFree(UUID timeslotId, UUID classroomId, LocalDate date) {
-        LessonEntity lesson = lessonRepository.findByTimeslotAndClassroomAndDate(
-                timeslotRepository.findById(timeslotId),
-                classroomRepository.findById(classroomId),
-                date);
-
-        if (lesson != null) {
-            throw new ConflictException(
-                    "Аудитория с ID " + classroomId + " в таймслот с ID " + timeslotId + " на дату " + date + " занята");
+        if (lessonOccupancyIndex.isClassroomBusy(date, timeslotId, classroomId)) {
+            throw new ConflictException(classroomBusyMessage(timeslotId, classroomId, date));
         }
     }
 
@@ -72,16 +63,8 @@ public class CheckClassroomAndTeacherAndTimeslotAccessibility {
      * @throws ConflictException исключение, которое выбрасывается, если таймслот в эту дату у группы занят.
      */
     public void checkTimeslotIsFree(UUID timeslotId, UUID studentGroupId, LocalDate date) {
-        LessonEntity lesson = lessonRepository.findByTimeslotAndStudentGroupAndDate(
-                timeslotRepository.findById(timeslotId),
-                studentGroupRepository.findById(studentGroupId),
-                date);
-
-        if (lesson != null) {
-            throw new ConflictException(
-                    "Таймслот с ID " + timeslotId + " на дату "
-                            + date + " занят у группы с ID "
-                            + studentGroupId);
+        if (lessonOccupancyIndex.isStudentGroupBusy(date, timeslotId, studentGroupId)) {
+            throw new ConflictException(studentGroupBusyMessage(timeslotId, studentGroupId, date));
         }
     }
 
@@ -100,4 +83,113 @@ public class CheckClassroomAndTeacherAndTimeslotAccessibility {
         checkTimeslotIsFree(timeslotId, studentGroupId, date);
     }
 
+    /**
+     * Метод для проверки доступности преподавателя, аудитории и таймслота сразу на несколько дат.
+     * Все конфликты находятся одним запросом к БД и попадают в одно исключение.
+     *
+     * @param timeslotId     уникальный идентификатор таймслота.
+     * @param teacherId      уникальный идентификатор преподавателя.
+     * @param classroomId    уникальный идентификатор аудитории.
+     * @param studentGroupId уникальный идентификатор группы студентов.
+     * @param dates          даты проведения пары.
+     * @throws ConflictException исключение, которое выбрасывается, если хотя бы на одну из дат что-то занято.
+     */
+    public void checkAccessibility(UUID timeslotId,
+                                   UUID teacherId,
+                                   UUID classroomId,
+                                   UUID studentGroupId,
+                                   List<LocalDate> dates) {
+        List<LessonSlot> conflictingSlots = lessonRepository.findConflictingSlots(
+                timeslotId,
+                dates,
+                teacherId,
+                classroomId,
+                studentGroupId
+        );
+
+        if (conflictingSlots.isEmpty()) {
+            return;
+        }
+
+        List<String> conflicts = new ArrayList<>();
+
+        for (LessonSlot slot : conflictingSlots) {
+            if (teacherId.equals(slot.getTeacherId())) {
+                conflicts.add(teacherBusyMessage(timeslotId, teacherId, slot.getDate()));
+            }
+
+            if (classroomId.equals(slot.getClassroomId())) {
+                conflicts.add(classroomBusyMessage(timeslotId, classroomId, slot.getDate()));
+            }
+
+            if (studentGroupId.equals(slot.getStudentGroupId())) {
+                conflicts.add(studentGroupBusyMessage(timeslotId, studentGroupId, slot.getDate()));
+            }
+        }
+
+        throw new ConflictException(String.join("; ", conflicts));
+    }
+
+    /**
+     * Метод для преобразования нарушения уникальных ограничений таблицы {@code lesson} в
+     * {@link ConflictException} с тем же сообщением, что и у проверок выше. Проверки по
+     * {@link LessonOccupancyIndex} выполняются до записи и отсекают большинство конфликтов, а ограничения
+     * в БД ловят гонки между параллельными запросами и экземплярами приложения. После такого конфликта
+     * данные индекса о датах устарели, поэтому они сбрасываются.
+     *
+     * @param exception      исключение, возникшее при записи пары.
+     * @param timeslotId     уникальный идентификатор таймслота.
+     * @param teacherId      уникальный идентификатор преподавателя.
+     * @param classroomId    уникальный идентификатор аудитории.
+     * @param studentGroupId уникальный идентификатор группы студентов.
+     * @param dates          даты, на которые записывались пары.
+     * @return {@link ConflictException}, если нарушено одно из ограничений занятости.
+     * @throws DataIntegrityViolationException исходное исключение, если нарушено другое ограничение.
+     */
+    public ConflictException toConflictException(DataIntegrityViolationException exception,
+                                                 UUID timeslotId,
+                                                 UUID teacherId,
+                                                 UUID classroomId,
+                                                 UUID studentGroupId,
+                                                 List<LocalDate> dates) {
+        if (!(exception.getCause() instanceof ConstraintViolationException constraintViolation)
+                || constraintViolation.getConstraintName() == null) {
+            throw exception;
+        }
+
+        String constraintName = constraintViolation.getConstraintName();
+        LocalDate date = dates.size() == 1 ? dates.get(0) : null;
+        String message;
+
+        if (LessonEntity.TEACHER_SLOT_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+            message = teacherBusyMessage(timeslotId, teacherId, date);
+        } else if (LessonEntity.CLASSROOM_SLOT_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+            message = classroomBusyMessage(timeslotId, classroomId, date);
+        } else if (LessonEntity.STUDENT_GROUP_SLOT_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+            message = studentGroupBusyMessage(timeslotId, studentGroupId, date);
+        } else {
+            throw exception;
+        }
+
+        dates.forEach(lessonOccupancyIndex::invalidate);
+
+        return new ConflictException(date != null ? message : message + " (одна из дат: " + dates + ")");
+    }
+
+    private static String teacherBusyMessage(UUID timeslotId, UUID teacherId, LocalDate date) {
+        return "Преподаватель с ID " + teacherId + " в таймслот с ID " + timeslotId + onDate(date) + " занят";
+    }
+
+    private static String classroomBusyMessage(UUID timeslotId, UUID classroomId, LocalDate date) {
+        return "Аудитория с ID " + classroomId + " в таймслот с ID " + timeslotId + onDate(date) + " занята";
+    }
+
+    private static String studentGroupBusyMessage(UUID timeslotId, UUID studentGroupId, LocalDate date) {
+        return "Таймслот с ID " + timeslotId + onDate(date) + " занят у группы с ID " + studentGroupId;
+    }
+
+    private static String onDate(LocalDate date) {
+        return date != null ? " на дату " + date : "";
+    }
+
 }
@@ -0,0 +1,102 @@
+package ru.hits.timeflowapi.service.helpingservices;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hits.timeflowapi.dto.pagination.CursorPageDto;
+import ru.hits.timeflowapi.exception.BadRequestException;
+import ru.hits.timeflowapi.repository.KeysetPageRepository;
+import ru.hits.timeflowapi.util.KeysetCursor;
+import ru.hits.timeflowapi.util.KeysetSort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Вспомогательный сервис для постраничного вывода по ключу: разбирает курсор, загружает на один
+ * элемент больше размера страницы, чтобы узнать, есть ли следующая, и формирует курсор следующей страницы.
+ */
+@Service
+@RequiredArgsConstructor
+public class KeysetPaginationService {
+
+    private final KeysetPageRepository keysetPageRepository;
+    private final CheckPaginationInfoService checkPaginationInfoService;
+
+    /**
+     * Метод для получения страницы.
+     *
+     * @param entityType тип сущности.
+     * @param filter     условия на равенство: путь до поля - значение.
+     * @param fetchPaths пути до связей, которые загружаются тем же запросом, чтобы {@code mapper}
+     *                   не выполнял запросы на каждый элемент.
+     * @param sort       сортировка.
+     * @param cursor     курсор, полученный с предыдущей страницей, или {@code null} для первой страницы.
+     * @param pageSize   размер страницы.
+     * @param direction  направление сортировки.
+     * @param withTotal  нужно ли посчитать общее количество элементов.
+     * @param mapper     функция преобразования сущности в DTO.
+     * @param <T>        тип сущности.
+     * @param <D>        тип DTO.
+     * @return страница.
+     * @throws BadRequestException если размер страницы, направление сортировки или курсор некорректны.
+     */
+    @Transactional(readOnly = true)
+    public <T, D> CursorPageDto<D> getPage(Class<T> entityType,
+                                           Map<String, Object> filter,
+                                           List<String> fetchPaths,
+                                           KeysetSort<T> sort,
+                                           String cursor,
+                                           int pageSize,
+                                           Sort.Direction direction,
+                                           boolean withTotal,
+                                           Function<T, D> mapper) {
+        checkPaginationInfoService.checkPageSize(pageSize);
+        checkPaginationInfoService.checkDirection(direction);
+
+        Comparable<?> afterValue = null;
+        KeysetCursor after = null;
+
+        if (cursor != null) {
+            after = KeysetCursor.decode(cursor);
+
+            try {
+                afterValue = sort.getParser().apply(after.getSortValue());
+            } catch (IllegalArgumentException exception) {
+                throw new BadRequestException("Некорректный курсор страницы.");
+            }
+        }
+
+        List<T> entities = keysetPageRepository.findPage(
+                entityType,
+                filter,
+                fetchPaths,
+                sort.getSortPath(),
+                sort.getIdPath(),
+                direction,
+                afterValue,
+                after != null ? after.getId() : null,
+                pageSize + 1
+        );
+
+        String nextCursor = null;
+
+        if (entities.size() > pageSize) {
+            entities = entities.subList(0, pageSize);
+            T last = entities.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(
+                    sort.getFormatter().apply(sort.getSortValue().apply(last)),
+                    sort.getId().apply(last)
+            );
+        }
+
+        return new CursorPageDto<>(
+                entities.stream().map(mapper).toList(),
+                nextCursor,
+                withTotal ? keysetPageRepository.count(entityType, filter) : null
+        );
+    }
+
+}
@@ -0,0 +1,50 @@
+package ru.hits.timeflowapi.service.helpingservices;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hits.timeflowapi.entity.LessonEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * Компонент для сохранения большого количества пар. Пары сохраняются в одной транзакции,
+ * а контекст персистентности сбрасывается и очищается через каждые {@code lesson.import.batch-size} пар,
+ * чтобы вставки уходили в БД пачками и память не росла вместе с количеством пар.
+ * <p>
+ * Компонент работает с {@link EntityManager} напрямую, поэтому помечен {@link Repository}: так исключения
+ * {@code JPA} из {@code flush} преобразуются в {@code DataAccessException}, например, нарушение
+ * ограничений занятости - в {@code DataIntegrityViolationException}.
+ */
+@Repository
+public class LessonBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${lesson.import.batch-size}")
+    private Integer batchSize;
+
+    /**
+     * Метод для сохранения пар. Связанные сущности должны уже существовать в БД.
+     *
+     * @param lessons пары, которые нужно сохранить.
+     */
+    @Transactional
+    public void write(List<LessonEntity> lessons) {
+        for (int i = 0; i < lessons.size(); i++) {
+            entityManager.persist(lessons.get(i));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+}
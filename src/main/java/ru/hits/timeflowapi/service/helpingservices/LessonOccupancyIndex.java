@@ -0,0 +1,311 @@
+package ru.hits.timeflowapi.service.helpingservices;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.util.TransactionHooks;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Индекс занятости преподавателей, аудиторий и групп студентов по датам и таймслотам.
+ * Данные за день загружаются из БД одним запросом при первом обращении к этому дню
+ * (или после истечения времени жизни), а дальше поддерживаются в актуальном состоянии
+ * при сохранении и удалении пар. Благодаря этому свободные места проверяются без обращения к БД.
+ * Занятость, найденная в индексе, подтверждается лёгким запросом по уникальному индексу таблицы
+ * {@code lesson}, а при расхождении день загружается заново. Так индекс не держит «занятые» места,
+ * которые освободились на другом экземпляре приложения или остались после двойного учёта пары.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonOccupancyIndex {
+
+    private final LessonRepository lessonRepository;
+
+    private final Map<LocalDate, DayOccupancy> days = new ConcurrentHashMap<>();
+
+    @Value("${lesson.occupancy-index.max-days}")
+    private Integer maxDays;
+
+    @Value("${lesson.occupancy-index.lifetime-min}")
+    private Integer lifetimeMin;
+
+    /**
+     * Метод для проверки того, занят ли преподаватель.
+     *
+     * @param date       дата.
+     * @param timeslotId уникальный идентификатор таймслота.
+     * @param teacherId  уникальный идентификатор преподавателя.
+     * @return {@code true}, если у преподавателя уже есть пара в этот таймслот.
+     */
+    public boolean isTeacherBusy(LocalDate date, UUID timeslotId, UUID teacherId) {
+        SlotOccupancy slot = getDay(date).slots.get(timeslotId);
+
+        return slot != null && slot.teachers.containsKey(teacherId) && confirm(date,
+                lessonRepository.existsByDateAndTimeslotIdAndTeacherId(date, timeslotId, teacherId));
+    }
+
+    /**
+     * Метод для проверки того, занята ли аудитория.
+     *
+     * @param date        дата.
+     * @param timeslotId  уникальный идентификатор таймслота.
+     * @param classroomId уникальный идентификатор аудитории.
+     * @return {@code true}, если в аудитории уже есть пара в этот таймслот.
+     */
+    public boolean isClassroomBusy(LocalDate date, UUID timeslotId, UUID classroomId) {
+        SlotOccupancy slot = getDay(date).slots.get(timeslotId);
+
+        return slot != null && slot.classrooms.containsKey(classroomId) && confirm(date,
+                lessonRepository.existsByDateAndTimeslotIdAndClassroomId(date, timeslotId, classroomId));
+    }
+
+    /**
+     * Метод для проверки того, занята ли группа студентов.
+     *
+     * @param date           дата.
+     * @param timeslotId     уникальный идентификатор таймслота.
+     * @param studentGroupId уникальный идентификатор группы студентов.
+     * @return {@code true}, если у группы уже есть пара в этот таймслот.
+     */
+    public boolean isStudentGroupBusy(LocalDate date, UUID timeslotId, UUID studentGroupId) {
+        SlotOccupancy slot = getDay(date).slots.get(timeslotId);
+
+        return slot != null && slot.studentGroups.containsKey(studentGroupId) && confirm(date,
+                lessonRepository.existsByDateAndTimeslotIdAndStudentGroupId(date, timeslotId, studentGroupId));
+    }
+
+    /**
+     * Метод для получения {@code id} преподавателей, у которых есть пара в заданный таймслот.
+     *
+     * @param date       дата.
+     * @param timeslotId уникальный идентификатор таймслота.
+     * @return неизменяемое представление множества {@code id} занятых преподавателей.
+     */
+    public Set<UUID> getBusyTeacherIds(LocalDate date, UUID timeslotId) {
+        SlotOccupancy slot = getConfirmedSlot(date, timeslotId);
+        return slot == null ? Collections.emptySet() : Collections.unmodifiableSet(slot.teachers.keySet());
+    }
+
+    /**
+     * Метод для получения {@code id} аудиторий, в которых есть пара в заданный таймслот.
+     *
+     * @param date       дата.
+     * @param timeslotId уникальный идентификатор таймслота.
+     * @return неизменяемое представление множества {@code id} занятых аудиторий.
+     */
+    public Set<UUID> getBusyClassroomIds(LocalDate date, UUID timeslotId) {
+        SlotOccupancy slot = getConfirmedSlot(date, timeslotId);
+        return slot == null ? Collections.emptySet() : Collections.unmodifiableSet(slot.classrooms.keySet());
+    }
+
+    /**
+     * Метод для получения {@code id} групп студентов, у которых есть пара в заданный таймслот.
+     *
+     * @param date       дата.
+     * @param timeslotId уникальный идентификатор таймслота.
+     * @return неизменяемое представление множества {@code id} занятых групп студентов.
+     */
+    public Set<UUID> getBusyStudentGroupIds(LocalDate date, UUID timeslotId) {
+        SlotOccupancy slot = getConfirmedSlot(date, timeslotId);
+        return slot == null ? Collections.emptySet() : Collections.unmodifiableSet(slot.studentGroups.keySet());
+    }
+
+    /**
+     * Метод, который отмечает место пары в расписании как занятое. Вызывается после сохранения пары в БД.
+     * Если день ещё не загружен в индекс, то ничего не происходит: при загрузке он будет прочитан из БД.
+     * Внутри транзакции изменение применяется только после её успешного коммита.
+     *
+     * @param slot место пары в расписании.
+     */
+    public void occupy(LessonSlot slot) {
+        TransactionHooks.afterCommit(() -> days.computeIfPresent(slot.getDate(), (date, day) -> {
+            day.slots.computeIfAbsent(slot.getTimeslotId(), id -> new SlotOccupancy()).occupy(slot);
+            return day;
+        }));
+    }
+
+    /**
+     * Метод, который освобождает место пары в расписании. Вызывается после удаления или изменения пары в БД.
+     * Внутри транзакции изменение применяется только после её успешного коммита.
+     *
+     * @param slot место пары в расписании.
+     */
+    public void release(LessonSlot slot) {
+        TransactionHooks.afterCommit(() -> days.computeIfPresent(slot.getDate(), (date, day) -> {
+            SlotOccupancy occupancy = day.slots.get(slot.getTimeslotId());
+
+            if (occupancy != null) {
+                occupancy.release(slot);
+            }
+
+            return day;
+        }));
+    }
+
+    /**
+     * Метод, который сбрасывает занятость на день, чтобы при следующем обращении она была загружена из БД.
+     * Вызывается, когда БД отклонила пару, которую индекс считал допустимой: значит, её место заняли
+     * в другом запросе или на другом экземпляре приложения.
+     *
+     * @param date дата.
+     */
+    public void invalidate(LocalDate date) {
+        days.remove(date);
+    }
+
+    /**
+     * Метод, который сверяет занятость из индекса с БД. Если БД не подтверждает занятость, то день
+     * сбрасывается: значит, пара была удалена на другом экземпляре приложения или счётчики индекса
+     * разошлись с БД, например, когда загрузка дня пересеклась с коммитом пары.
+     *
+     * @param date             дата.
+     * @param existsInDatabase есть ли пара в БД.
+     * @return {@code existsInDatabase}.
+     */
+    private boolean confirm(LocalDate date, boolean existsInDatabase) {
+        if (!existsInDatabase) {
+            invalidate(date);
+        }
+
+        return existsInDatabase;
+    }
+
+    /**
+     * Метод для получения занятости таймслота, сверенной с БД по количеству пар. Если количество
+     * не совпадает, то день загружается из БД заново. Пустой таймслот не сверяется: свободные места,
+     * занятые на другом экземпляре приложения, отсекают ограничения БД при записи.
+     *
+     * @param date       дата.
+     * @param timeslotId уникальный идентификатор таймслота.
+     * @return занятость таймслота или {@code null}, если он свободен.
+     */
+    private SlotOccupancy getConfirmedSlot(LocalDate date, UUID timeslotId) {
+        SlotOccupancy slot = getDay(date).slots.get(timeslotId);
+
+        if (slot == null || slot.teachers.isEmpty()
+                || slot.getLessonCount() == lessonRepository.countByDateAndTimeslotId(date, timeslotId)) {
+            return slot;
+        }
+
+        invalidate(date);
+        return getDay(date).slots.get(timeslotId);
+    }
+
+    /**
+     * Метод для получения занятости на день. Если день не загружен или данные о нём устарели,
+     * то они загружаются из БД.
+     *
+     * @param date дата.
+     * @return занятость на день.
+     */
+    private DayOccupancy getDay(LocalDate date) {
+        long now = System.currentTimeMillis();
+        DayOccupancy day = days.get(date);
+
+        if (day != null && !day.isExpired(now)) {
+            return day;
+        }
+
+        day = days.compute(date, (key, current) ->
+                current == null || current.isExpired(now) ? loadDay(key, now) : current
+        );
+        evictIfNeeded();
+
+        return day;
+    }
+
+    private DayOccupancy loadDay(LocalDate date, long now) {
+        DayOccupancy day = new DayOccupancy(now + TimeUnit.MINUTES.toMillis(lifetimeMin));
+
+        for (LessonSlot slot : lessonRepository.findSlotsByDate(date)) {
+            day.slots.computeIfAbsent(slot.getTimeslotId(), id -> new SlotOccupancy()).occupy(slot);
+        }
+
+        return day;
+    }
+
+    /**
+     * Метод, который ограничивает количество дней в индексе, удаляя дни, загруженные раньше остальных.
+     */
+    private void evictIfNeeded() {
+        while (days.size() > maxDays) {
+            days.entrySet()
+                    .stream()
+                    .min(Map.Entry.comparingByValue((first, second) ->
+                            Long.compare(first.expiresAt, second.expiresAt)))
+                    .ifPresent(oldest -> days.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static class DayOccupancy {
+
+        private final Map<UUID, SlotOccupancy> slots = new ConcurrentHashMap<>();
+
+        private final long expiresAt;
+
+        private DayOccupancy(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+    }
+
+    /**
+     * Занятость одного таймслота. Для каждого {@code id} хранится количество пар, чтобы удаление
+     * одной из пар не освобождало ресурс, если в БД есть другая пара с ним же.
+     */
+    private static class SlotOccupancy {
+
+        private final Map<UUID, Integer> teachers = new ConcurrentHashMap<>();
+
+        private final Map<UUID, Integer> classrooms = new ConcurrentHashMap<>();
+
+        private final Map<UUID, Integer> studentGroups = new ConcurrentHashMap<>();
+
+        /**
+         * Количество пар в таймслоте. У каждой пары ровно один преподаватель, поэтому оно равно сумме
+         * счётчиков преподавателей, но хранится отдельно, чтобы сверка с БД не зависела от количества пар.
+         */
+        private final AtomicLong lessonCount = new AtomicLong();
+
+        private void occupy(LessonSlot slot) {
+            lessonCount.incrementAndGet();
+            teachers.merge(slot.getTeacherId(), 1, Integer::sum);
+            classrooms.merge(slot.getClassroomId(), 1, Integer::sum);
+            studentGroups.merge(slot.getStudentGroupId(), 1, Integer::sum);
+        }
+
+        private void release(LessonSlot slot) {
+            if (teachers.containsKey(slot.getTeacherId())) {
+                lessonCount.decrementAndGet();
+            }
+
+            teachers.computeIfPresent(slot.getTeacherId(), SlotOccupancy::decrement);
+            classrooms.computeIfPresent(slot.getClassroomId(), SlotOccupancy::decrement);
+            studentGroups.computeIfPresent(slot.getStudentGroupId(), SlotOccupancy::decrement);
+        }
+
+        private long getLessonCount() {
+            return lessonCount.get();
+        }
+
+        private static Integer decrement(UUID id, Integer count) {
+            return count > 1 ? count - 1 : null;
+        }
+
+    }
+
+}
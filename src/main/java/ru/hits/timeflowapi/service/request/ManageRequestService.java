@@ -1,11 +1,13 @@
 package ru.hits.timeflowapi.service.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.hits.timeflowapi.dto.pagination.CursorPageDto;
 import ru.hits.timeflowapi.dto.request.EmployeeRequestDto;
 import ru.hits.timeflowapi.dto.request.StudentRequestDto;
 import ru.hits.timeflowapi.dto.user.EmployeeDto;
@@ -16,6 +18,7 @@ import ru.hits.timeflowapi.entity.requestconfirm.EmployeeRequestEntity;
 import ru.hits.timeflowapi.entity.requestconfirm.ScheduleMakerRequestEntity;
 import ru.hits.timeflowapi.entity.requestconfirm.StudentRequestEntity;
 import ru.hits.timeflowapi.enumeration.AccountStatus;
+import ru.hits.timeflowapi.event.UserDetailsChangedEvent;
 import ru.hits.timeflowapi.exception.BadRequestException;
 import ru.hits.timeflowapi.exception.ConflictException;
 import ru.hits.timeflowapi.exception.NotFoundException;
@@ -27,9 +30,12 @@ import ru.hits.timeflowapi.repository.requestconfirm.EmployeeRequestRepository;
 import ru.hits.timeflowapi.repository.requestconfirm.ScheduleMakerRequestRepository;
 import ru.hits.timeflowapi.repository.requestconfirm.StudentRequestRepository;
 import ru.hits.timeflowapi.service.EmployeePostService;
+import ru.hits.timeflowapi.service.helpingservices.KeysetPaginationService;
+import ru.hits.timeflowapi.util.KeysetSort;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +44,15 @@ import java.util.UUID;
 public class ManageRequestService {
 
     private static final String SORT_PROPERTY = "creationDate";
+    private static final KeysetSort<StudentRequestEntity> STUDENT_REQUEST_SORT = KeysetSort.byDate(
+            SORT_PROPERTY, "id", StudentRequestEntity::getCreationDate, StudentRequestEntity::getId
+    );
+    private static final KeysetSort<EmployeeRequestEntity> EMPLOYEE_REQUEST_SORT = KeysetSort.byDate(
+            SORT_PROPERTY, "id", EmployeeRequestEntity::getCreationDate, EmployeeRequestEntity::getId
+    );
+    private static final KeysetSort<ScheduleMakerRequestEntity> SCHEDULE_MAKER_REQUEST_SORT = KeysetSort.byDate(
+            SORT_PROPERTY, "id", ScheduleMakerRequestEntity::getCreationDate, ScheduleMakerRequestEntity::getId
+    );
     private final UserMapper userMapper;
     private final RequestMapper requestMapper;
     private final StudentRequestRepository studentRequestRepository;
@@ -46,6 +61,8 @@ public class ManageRequestService {
     private final ScheduleMakerRequestRepository scheduleMakerRequestRepository;
     private final EmployeePostService employeePostService;
     private final EmployeeDetailsRepository employeeDetailsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaginationService keysetPaginationService;
 
     public Page<StudentRequestDto> getStudentRequestsPage(int pageNumber,
                                                           int pageSize,
@@ -110,6 +127,95 @@ public class ManageRequestService {
         return employees.map(requestMapper::employeeRequestToDto);
     }
 
+    /**
+     * Метод для получения страницы заявок студентов по курсору с сортировкой по дате создания.
+     * Время получения страницы не зависит от её номера.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param pageSize  размер страницы.
+     * @param direction направление сортировки.
+     * @param isClosed  фильтр по статусу заявки.
+     * @param withTotal нужно ли посчитать общее количество заявок.
+     * @return страница заявок.
+     */
+    public CursorPageDto<StudentRequestDto> getStudentRequestsByCursor(String cursor,
+                                                                       int pageSize,
+                                                                       Sort.Direction direction,
+                                                                       Optional<Boolean> isClosed,
+                                                                       boolean withTotal) {
+        return keysetPaginationService.getPage(
+                StudentRequestEntity.class,
+                isClosedFilter(isClosed),
+                StudentRequestRepository.LISTING_FETCH_PATHS,
+                STUDENT_REQUEST_SORT,
+                cursor,
+                pageSize,
+                direction,
+                withTotal,
+                requestMapper::studentRequestToDto
+        );
+    }
+
+    /**
+     * Метод для получения страницы заявок составителей расписаний по курсору с сортировкой по дате создания.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param pageSize  размер страницы.
+     * @param direction направление сортировки.
+     * @param isClosed  фильтр по статусу заявки.
+     * @param withTotal нужно ли посчитать общее количество заявок.
+     * @return страница заявок.
+     */
+    public CursorPageDto<EmployeeRequestDto> getScheduleMakerRequestsByCursor(String cursor,
+                                                                              int pageSize,
+                                                                              Sort.Direction direction,
+                                                                              Optional<Boolean> isClosed,
+                                                                              boolean withTotal) {
+        return keysetPaginationService.getPage(
+                ScheduleMakerRequestEntity.class,
+                isClosedFilter(isClosed),
+                ScheduleMakerRequestRepository.LISTING_FETCH_PATHS,
+                SCHEDULE_MAKER_REQUEST_SORT,
+                cursor,
+                pageSize,
+                direction,
+                withTotal,
+                requestMapper::employeeRequestToDto
+        );
+    }
+
+    /**
+     * Метод для получения страницы заявок сотрудников по курсору с сортировкой по дате создания.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param pageSize  размер страницы.
+     * @param direction направление сортировки.
+     * @param isClosed  фильтр по статусу заявки.
+     * @param withTotal нужно ли посчитать общее количество заявок.
+     * @return страница заявок.
+     */
+    public CursorPageDto<EmployeeRequestDto> getEmployeeRequestsByCursor(String cursor,
+                                                                         int pageSize,
+                                                                         Sort.Direction direction,
+                                                                         Optional<Boolean> isClosed,
+                                                                         boolean withTotal) {
+        return keysetPaginationService.getPage(
+                EmployeeRequestEntity.class,
+                isClosedFilter(isClosed),
+                EmployeeRequestRepository.LISTING_FETCH_PATHS,
+                EMPLOYEE_REQUEST_SORT,
+                cursor,
+                pageSize,
+                direction,
+                withTotal,
+                requestMapper::employeeRequestToDto
+        );
+    }
+
+    private static Map<String, Object> isClosedFilter(Optional<Boolean> isClosed) {
+        return isClosed.<Map<String, Object>>map(value -> Map.of("isClosed", value)).orElse(Map.of());
+    }
+
     public StudentRequestDto getStudentRequestById(UUID requestId) {
         StudentRequestEntity request = getStudentRequest(requestId);
 
@@ -138,6 +244,7 @@ public class ManageRequestService {
         request.setClosedDate(new Date());
 
         request = studentRequestRepository.save(request);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(request.getStudentDetails().getUser().getId()));
 
         return userMapper.studentDetailsToStudentDto(request.getStudentDetails());
     }
@@ -164,6 +271,7 @@ public class ManageRequestService {
         }
 
         request = employeeRequestRepository.save(request);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(request.getEmployeeDetails().getUser().getId()));
 
         return userMapper.employeeDetailsToEmployeeDto(request.getEmployeeDetails());
     }
@@ -182,6 +290,7 @@ public class ManageRequestService {
                 .setPosts(List.of(employeePostService.getPostEntityByPostRole("ROLE_SCHEDULE_MAKER")));
 
         request = scheduleMakerRequestRepository.save(request);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(request.getEmployeeDetails().getUser().getId()));
 
         return userMapper.employeeDetailsToEmployeeDto(request.getEmployeeDetails());
     }
@@ -196,6 +305,7 @@ public class ManageRequestService {
         request.setClosedDate(new Date());
 
         request = studentRequestRepository.save(request);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(request.getStudentDetails().getUser().getId()));
 
         return userMapper.studentDetailsToStudentDto(request.getStudentDetails());
     }
@@ -210,6 +320,7 @@ public class ManageRequestService {
         request.setClosedDate(new Date());
 
         request = employeeRequestRepository.save(request);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(request.getEmployeeDetails().getUser().getId()));
 
         return userMapper.employeeDetailsToEmployeeDto(request.getEmployeeDetails());
     }
@@ -224,6 +335,7 @@ public class ManageRequestService {
         request.setClosedDate(new Date());
 
         request = scheduleMakerRequestRepository.save(request);
+        eventPublisher.publishEvent(new UserDetailsChangedEvent(request.getEmployeeDetails().getUser().getId()));
 
         return userMapper.employeeDetailsToEmployeeDto(request.getEmployeeDetails());
     }
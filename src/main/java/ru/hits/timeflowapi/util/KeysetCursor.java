@@ -0,0 +1,60 @@
+package ru.hits.timeflowapi.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.hits.timeflowapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Курсор постраничного вывода по ключу: значение поля сортировки и {@code id} последнего элемента страницы.
+ * Для клиента курсор непрозрачен - это строка в {@code base64url}, которую он передаёт обратно,
+ * чтобы получить следующую страницу.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    private static final int UUID_LENGTH = 36;
+
+    private final String sortValue;
+
+    private final UUID id;
+
+    /**
+     * Метод для получения курсора, указывающего на элемент.
+     *
+     * @param sortValue значение поля сортировки элемента в строковом виде.
+     * @param id        уникальный идентификатор элемента.
+     * @return курсор в виде строки.
+     */
+    public static String encode(String sortValue, UUID id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((id + sortValue).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод для разбора курсора, полученного от клиента.
+     *
+     * @param cursor курсор в виде строки.
+     * @return курсор.
+     * @throws BadRequestException если курсор некорректен.
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            return new KeysetCursor(
+                    decoded.substring(UUID_LENGTH),
+                    UUID.fromString(decoded.substring(0, UUID_LENGTH))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new BadRequestException("Некорректный курсор страницы.");
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package ru.hits.timeflowapi.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Описание сортировки для постраничного вывода по ключу: поле сортировки, уникальное поле,
+ * упорядочивающее элементы с одинаковым ключом, и преобразование значения поля сортировки в курсор и обратно.
+ *
+ * @param <T> тип сущности.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetSort<T> {
+
+    private final String sortPath;
+
+    private final String idPath;
+
+    private final Function<T, Comparable<?>> sortValue;
+
+    private final Function<T, UUID> id;
+
+    private final Function<Comparable<?>, String> formatter;
+
+    private final Function<String, Comparable<?>> parser;
+
+    /**
+     * Сортировка по строковому полю.
+     *
+     * @param sortPath  путь до поля сортировки.
+     * @param idPath    путь до уникального поля.
+     * @param sortValue функция получения значения поля сортировки.
+     * @param id        функция получения значения уникального поля.
+     * @param <T>       тип сущности.
+     * @return сортировка.
+     */
+    public static <T> KeysetSort<T> byString(String sortPath,
+                                             String idPath,
+                                             Function<T, String> sortValue,
+                                             Function<T, UUID> id) {
+        return new KeysetSort<>(sortPath, idPath, sortValue::apply, id, String::valueOf, value -> value);
+    }
+
+    /**
+     * Сортировка по полю с датой и временем. В курсоре хранится количество миллисекунд.
+     *
+     * @param sortPath  путь до поля сортировки.
+     * @param idPath    путь до уникального поля.
+     * @param sortValue функция получения значения поля сортировки.
+     * @param id        функция получения значения уникального поля.
+     * @param <T>       тип сущности.
+     * @return сортировка.
+     */
+    public static <T> KeysetSort<T> byDate(String sortPath,
+                                           String idPath,
+                                           Function<T, Date> sortValue,
+                                           Function<T, UUID> id) {
+        return new KeysetSort<>(
+                sortPath,
+                idPath,
+                sortValue::apply,
+                id,
+                value -> String.valueOf(((Date) value).getTime()),
+                value -> new Date(Long.parseLong(value))
+        );
+    }
+
+}
@@ -0,0 +1,32 @@
+package ru.hits.timeflowapi.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Класс для хеширования токенов. Токены хранятся только в виде хешей: в БД и в кэшах в памяти,
+ * чтобы они не попали в дамп БД или памяти в открытом виде.
+ */
+@UtilityClass
+public class TokenHashes {
+
+    /**
+     * Метод для получения {@code SHA-256} хеша токена.
+     *
+     * @param token токен.
+     * @return хеш токена в шестнадцатеричном виде.
+     */
+    public static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package ru.hits.timeflowapi.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Класс с методами для привязки действий к жизненному циклу текущей транзакции.
+ */
+@UtilityClass
+public class TransactionHooks {
+
+    /**
+     * Метод, который выполняет действие после коммита текущей транзакции, а если транзакции нет - сразу.
+     * Используется для обновления данных в памяти, чтобы откатившаяся транзакция их не затронула.
+     *
+     * @param action действие.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
@@ -1,10 +1,8 @@
 package ru.hits.timeflowapi.util.constants;
 
 import lombok.experimental.UtilityClass;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import ru.hits.timeflowapi.util.routing.SecuredEndpoint;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,26 +13,31 @@ public class SecuredEndpoints {
 
     private static final String BASE_URL = "/api/v1";
 
-    public static final List<AntPathRequestMatcher> ENDPOINTS = new ArrayList<>(Arrays.asList(
-            new AntPathRequestMatcher(BASE_URL + "/student-requests/**"),
-            new AntPathRequestMatcher(BASE_URL + "/employee-requests/**"),
-            new AntPathRequestMatcher(BASE_URL + "/schedule-maker-requests/**"),
-            new AntPathRequestMatcher(BASE_URL + "/available-timeslots"),
-            new AntPathRequestMatcher(BASE_URL + "/available-teachers"),
-            new AntPathRequestMatcher(BASE_URL + "/available-classrooms"),
-            new AntPathRequestMatcher(BASE_URL + "/account/**"),
-            new AntPathRequestMatcher(BASE_URL + "/sign-out"),
-            new AntPathRequestMatcher(BASE_URL + "/users"),
-            new AntPathRequestMatcher(BASE_URL + "/students"),
-            new AntPathRequestMatcher(BASE_URL + "/employees"),
-            new AntPathRequestMatcher(BASE_URL + "/employee-posts"),
-            new AntPathRequestMatcher(BASE_URL + "/lessons/**", HttpMethodConstant.POST),
-            new AntPathRequestMatcher(BASE_URL + "/teachers", HttpMethodConstant.POST),
-            new AntPathRequestMatcher(BASE_URL + "/subjects", HttpMethodConstant.POST),
-            new AntPathRequestMatcher(BASE_URL + "/classrooms", HttpMethodConstant.POST),
-            new AntPathRequestMatcher(BASE_URL + "/groups", HttpMethodConstant.POST),
-            new AntPathRequestMatcher(BASE_URL + "/lessons/**", HttpMethodConstant.PUT),
-            new AntPathRequestMatcher(BASE_URL + "/lessons/**", HttpMethodConstant.DELETE)
-    ));
+    public static final List<SecuredEndpoint> ENDPOINTS = List.of(
+            new SecuredEndpoint(BASE_URL + "/student-requests/**"),
+            new SecuredEndpoint(BASE_URL + "/employee-requests/**"),
+            new SecuredEndpoint(BASE_URL + "/schedule-maker-requests/**"),
+            new SecuredEndpoint(BASE_URL + "/available-timeslots"),
+            new SecuredEndpoint(BASE_URL + "/available-teachers"),
+            new SecuredEndpoint(BASE_URL + "/available-classrooms"),
+            new SecuredEndpoint(BASE_URL + "/availability-matrix"),
+            new SecuredEndpoint(BASE_URL + "/account/**"),
+            new SecuredEndpoint(BASE_URL + "/sign-out"),
+            new SecuredEndpoint(BASE_URL + "/users"),
+            new SecuredEndpoint(BASE_URL + "/students"),
+            new SecuredEndpoint(BASE_URL + "/employees"),
+            new SecuredEndpoint(BASE_URL + "/users/cursor"),
+            new SecuredEndpoint(BASE_URL + "/students/cursor"),
+            new SecuredEndpoint(BASE_URL + "/employees/cursor"),
+            new SecuredEndpoint(BASE_URL + "/employee-posts"),
+            new SecuredEndpoint(BASE_URL + "/lessons/**", HttpMethodConstant.POST),
+            new SecuredEndpoint(BASE_URL + "/teachers", HttpMethodConstant.POST),
+            new SecuredEndpoint(BASE_URL + "/subjects", HttpMethodConstant.POST),
+            new SecuredEndpoint(BASE_URL + "/classrooms", HttpMethodConstant.POST),
+            new SecuredEndpoint(BASE_URL + "/groups", HttpMethodConstant.POST),
+            new SecuredEndpoint(BASE_URL + "/lessons/**", HttpMethodConstant.PUT),
+            new SecuredEndpoint(BASE_URL + "/lessons/**", HttpMethodConstant.DELETE),
+            new SecuredEndpoint("/actuator/metrics/**")
+    );
 
 }
@@ -0,0 +1,80 @@
+package ru.hits.timeflowapi.util.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Набор корзин токенов фиксированного размера. Ключ отображается на одну из корзин по хэшу,
+ * поэтому занимаемая память не зависит от количества ключей: редкие коллизии лишь делят лимит
+ * между несколькими ключами.
+ * <p>
+ * Каждая корзина хранится одним {@code long} - теоретическим моментом прихода следующего запроса
+ * (алгоритм {@code GCRA}, эквивалентный корзине токенов), и обновляется одним {@code CAS} без блокировок.
+ * Отклонение запроса ничего не записывает.
+ */
+public final class StripedTokenBucket {
+
+    private final AtomicLongArray stripes;
+
+    private final int mask;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final long origin = System.nanoTime();
+
+    /**
+     * Конструктор.
+     *
+     * @param stripes         количество корзин, округляется вверх до степени двойки.
+     * @param capacity        ёмкость корзины - сколько запросов можно сделать подряд.
+     * @param refillPerMinute сколько токенов восстанавливается за минуту.
+     * @throws IllegalArgumentException если параметры не положительны.
+     */
+    public StripedTokenBucket(int stripes, int capacity, int refillPerMinute) {
+        if (stripes <= 0 || capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Параметры корзины токенов должны быть положительными.");
+        }
+
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new AtomicLongArray(Math.max(size, 1));
+        this.mask = this.stripes.length() - 1;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Метод для получения одного токена из корзины ключа.
+     *
+     * @param key ключ.
+     * @return {@code 0}, если токен получен, иначе время в наносекундах, через которое он появится.
+     */
+    public long tryAcquire(Object key) {
+        int index = index(key.hashCode());
+        long now = System.nanoTime() - origin;
+
+        while (true) {
+            long arrival = stripes.get(index);
+            long next = Math.max(arrival, now) + intervalNanos;
+            long overflow = next - now - burstNanos;
+
+            if (overflow > 0) {
+                return overflow;
+            }
+
+            if (stripes.compareAndSet(index, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private int index(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+
+        return hash & mask;
+    }
+
+}
@@ -0,0 +1,26 @@
+package ru.hits.timeflowapi.util.routing;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Описание защищённого эндпоинта: {@code ant} паттерн пути и {@code HTTP} метод.
+ * Поддерживаются паттерны из литеральных сегментов, {@code *} на месте сегмента
+ * и {@code **} в конце паттерна.
+ */
+@Value
+@AllArgsConstructor
+public class SecuredEndpoint {
+
+    String pattern;
+
+    /**
+     * {@code HTTP} метод, {@code null} - любой метод.
+     */
+    String method;
+
+    public SecuredEndpoint(String pattern) {
+        this(pattern, null);
+    }
+
+}
@@ -0,0 +1,179 @@
+package ru.hits.timeflowapi.util.routing;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Префиксное дерево по сегментам пути, в которое один раз компилируются защищённые эндпоинты.
+ * Проверка запроса занимает O(количество сегментов пути) и не выделяет память: сегменты пути
+ * сравниваются с метками узлов прямо в исходной строке, а {@code HTTP} методы хранятся битовыми масками.
+ * Семантика совпадает с {@code AntPathRequestMatcher} для поддерживаемых паттернов
+ * (см. {@link SecuredEndpoint}), включая то, что путь с завершающим {@code /} совпадает только с {@code **}.
+ */
+public final class SecuredRouteTrie {
+
+    /**
+     * Бит для методов, отличных от восьми стандартных, которые занимают младшие биты маски.
+     */
+    private static final int OTHER_METHOD_BIT = 1 << 8;
+
+    private static final int ANY_METHOD_MASK = (OTHER_METHOD_BIT << 1) - 1;
+
+    private static final String SEGMENT_WILDCARD = "*";
+
+    private static final String SUBTREE_WILDCARD = "**";
+
+    private final Node root = new Node();
+
+    private SecuredRouteTrie() {
+    }
+
+    /**
+     * Метод для компиляции защищённых эндпоинтов в дерево.
+     *
+     * @param endpoints защищённые эндпоинты.
+     * @return дерево.
+     * @throws IllegalArgumentException если паттерн не поддерживается.
+     */
+    public static SecuredRouteTrie compile(List<SecuredEndpoint> endpoints) {
+        SecuredRouteTrie trie = new SecuredRouteTrie();
+
+        for (SecuredEndpoint endpoint : endpoints) {
+            trie.add(endpoint);
+        }
+
+        return trie;
+    }
+
+    /**
+     * Метод для проверки того, является ли запрос запросом к защищённому эндпоинту.
+     *
+     * @param method {@code HTTP} метод запроса.
+     * @param path   путь запроса внутри приложения.
+     * @return {@code true}, если запрос совпадает с одним из защищённых эндпоинтов.
+     */
+    public boolean matches(String method, String path) {
+        return match(root, path, 0, methodBit(method));
+    }
+
+    private void add(SecuredEndpoint endpoint) {
+        int mask = endpoint.getMethod() == null ? ANY_METHOD_MASK : methodBit(endpoint.getMethod());
+        String[] segments = Arrays.stream(endpoint.getPattern().split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+        Node node = root;
+
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+
+            if (segment.equals(SUBTREE_WILDCARD)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("** поддерживается только в конце паттерна: "
+                            + endpoint.getPattern());
+                }
+
+                node.subtreeMask |= mask;
+                return;
+            }
+
+            if (segment.contains("*") && !segment.equals(SEGMENT_WILDCARD)
+                    || segment.contains("{") || segment.contains("?")) {
+                throw new IllegalArgumentException("Неподдерживаемый сегмент паттерна: " + endpoint.getPattern());
+            }
+
+            node = segment.equals(SEGMENT_WILDCARD) ? node.wildcardChild() : node.child(segment);
+        }
+
+        node.exactMask |= mask;
+    }
+
+    private static boolean match(Node node, String path, int position, int methodBit) {
+        if ((node.subtreeMask & methodBit) != 0) {
+            return true;
+        }
+
+        int length = path.length();
+        int start = position;
+
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+
+        if (start == length) {
+            boolean trailingSlash = length > 1 && path.charAt(length - 1) == '/';
+            return (node.exactMask & methodBit) != 0 && !trailingSlash;
+        }
+
+        int end = path.indexOf('/', start);
+
+        if (end < 0) {
+            end = length;
+        }
+
+        int segmentLength = end - start;
+
+        for (int i = 0; i < node.labels.length; i++) {
+            String label = node.labels[i];
+
+            if (label.length() == segmentLength
+                    && path.regionMatches(start, label, 0, segmentLength)
+                    && match(node.children[i], path, end, methodBit)) {
+                return true;
+            }
+        }
+
+        return node.wildcard != null && match(node.wildcard, path, end, methodBit);
+    }
+
+    private static int methodBit(String method) {
+        return switch (method) {
+            case "GET" -> 1;
+            case "HEAD" -> 1 << 1;
+            case "POST" -> 1 << 2;
+            case "PUT" -> 1 << 3;
+            case "PATCH" -> 1 << 4;
+            case "DELETE" -> 1 << 5;
+            case "OPTIONS" -> 1 << 6;
+            case "TRACE" -> 1 << 7;
+            default -> OTHER_METHOD_BIT;
+        };
+    }
+
+    private static final class Node {
+
+        private String[] labels = new String[0];
+
+        private Node[] children = new Node[0];
+
+        private Node wildcard;
+
+        private int exactMask;
+
+        private int subtreeMask;
+
+        private Node child(String label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equals(label)) {
+                    return children[i];
+                }
+            }
+
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = label;
+            children[children.length - 1] = new Node();
+
+            return children[children.length - 1];
+        }
+
+        private Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+
+            return wildcard;
+        }
+
+    }
+
+}
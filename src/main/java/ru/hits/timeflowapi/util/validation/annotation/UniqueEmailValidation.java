@@ -3,8 +3,8 @@ package ru.hits.timeflowapi.util.validation.annotation;
 
 import ru.hits.timeflowapi.util.validation.validator.UniqueEmailValidator;
 
-import javax.validation.Constraint;
-import javax.validation.Payload;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
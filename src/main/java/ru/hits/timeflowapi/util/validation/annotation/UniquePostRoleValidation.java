@@ -2,8 +2,8 @@ package ru.hits.timeflowapi.util.validation.annotation;
 
 import ru.hits.timeflowapi.util.validation.validator.UniquePostRoleValidator;
 
-import javax.validation.Constraint;
-import javax.validation.Payload;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -5,8 +5,8 @@ import org.springframework.stereotype.Component;
 import ru.hits.timeflowapi.repository.StudentGroupRepository;
 import ru.hits.timeflowapi.util.validation.annotation.ExistStudentGroupValidation;
 
-import javax.validation.ConstraintValidator;
-import javax.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
 import java.util.UUID;
 
 /**
@@ -5,8 +5,8 @@ import org.springframework.stereotype.Component;
 import ru.hits.timeflowapi.repository.EmployeePostRepository;
 import ru.hits.timeflowapi.util.validation.annotation.UniquePostNameValidation;
 
-import javax.validation.ConstraintValidator;
-import javax.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
 
 /**
  * Логика для проверки ограничения {@link UniquePostNameValidation}.
@@ -0,0 +1,163 @@
+-- Схема в том виде, в котором её создавал ddl-auto: update до перехода на миграции.
+-- На существующих БД эта миграция не выполняется, а отмечается как базовая (baseline-version: 1).
+
+-- Справочники
+CREATE TABLE classroom
+(
+    id     uuid NOT NULL,
+    number varchar(255),
+    CONSTRAINT classroom_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE subject
+(
+    id   uuid NOT NULL,
+    name varchar(255),
+    CONSTRAINT subject_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_subject_name UNIQUE (name)
+);
+
+CREATE TABLE teacher
+(
+    id         uuid NOT NULL,
+    name       varchar(255),
+    patronymic varchar(255),
+    surname    varchar(255),
+    CONSTRAINT teacher_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE timeslot
+(
+    id              uuid    NOT NULL,
+    begin_time      varchar(255),
+    end_time        varchar(255),
+    sequence_number integer NOT NULL,
+    CONSTRAINT timeslot_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE student_group
+(
+    id     uuid    NOT NULL,
+    number integer NOT NULL,
+    CONSTRAINT student_group_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_student_group_number UNIQUE (number)
+);
+
+CREATE TABLE employee_post
+(
+    id        uuid NOT NULL,
+    post_name varchar(255),
+    post_role varchar(255),
+    CONSTRAINT employee_post_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_employee_post_post_name UNIQUE (post_name),
+    CONSTRAINT uk_employee_post_post_role UNIQUE (post_role)
+);
+
+-- Пользователи
+CREATE TABLE _user
+(
+    id             uuid NOT NULL,
+    account_status varchar(255),
+    email          varchar(255),
+    name           varchar(255),
+    password       varchar(255),
+    patronymic     varchar(255),
+    refresh_token  varchar(255),
+    role           varchar(255),
+    sex            varchar(255),
+    surname        varchar(255),
+    CONSTRAINT _user_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE employee_details
+(
+    id              uuid NOT NULL,
+    contract_number varchar(255),
+    teacher_id      uuid,
+    user_id         uuid,
+    CONSTRAINT employee_details_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_employee_details_teacher_id UNIQUE (teacher_id),
+    CONSTRAINT uk_employee_details_user_id UNIQUE (user_id),
+    CONSTRAINT fk_employee_details_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id),
+    CONSTRAINT fk_employee_details_user FOREIGN KEY (user_id) REFERENCES _user (id)
+);
+
+CREATE TABLE employee_posts
+(
+    employee_id uuid NOT NULL,
+    posts_id    uuid NOT NULL,
+    CONSTRAINT fk_employee_posts_employee FOREIGN KEY (employee_id) REFERENCES employee_details (id),
+    CONSTRAINT fk_employee_posts_post FOREIGN KEY (posts_id) REFERENCES employee_post (id)
+);
+
+CREATE TABLE student_details
+(
+    id             uuid NOT NULL,
+    student_number varchar(255),
+    group_id       uuid NOT NULL,
+    user_id        uuid,
+    CONSTRAINT student_details_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_student_details_student_number UNIQUE (student_number),
+    CONSTRAINT uk_student_details_user_id UNIQUE (user_id),
+    CONSTRAINT fk_student_details_group FOREIGN KEY (group_id) REFERENCES student_group (id),
+    CONSTRAINT fk_student_details_user FOREIGN KEY (user_id) REFERENCES _user (id)
+);
+
+-- Заявки на подтверждение аккаунтов
+CREATE TABLE employee_request_confirm
+(
+    id                  uuid    NOT NULL,
+    closed_date         timestamp,
+    creation_date       timestamp,
+    is_closed           boolean NOT NULL,
+    employee_details_id uuid,
+    CONSTRAINT employee_request_confirm_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_employee_request_confirm_employee_details_id UNIQUE (employee_details_id),
+    CONSTRAINT fk_employee_request_confirm_employee_details
+        FOREIGN KEY (employee_details_id) REFERENCES employee_details (id)
+);
+
+CREATE TABLE scheduler_maker_request_confirm
+(
+    id                  uuid    NOT NULL,
+    closed_date         timestamp,
+    creation_date       timestamp,
+    is_closed           boolean NOT NULL,
+    employee_details_id uuid,
+    CONSTRAINT scheduler_maker_request_confirm_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_scheduler_maker_request_confirm_employee_details_id UNIQUE (employee_details_id),
+    CONSTRAINT fk_scheduler_maker_request_confirm_employee_details
+        FOREIGN KEY (employee_details_id) REFERENCES employee_details (id)
+);
+
+CREATE TABLE student_request_confirm
+(
+    id                 uuid    NOT NULL,
+    closed_date        timestamp,
+    creation_date      timestamp,
+    is_closed          boolean NOT NULL,
+    student_details_id uuid,
+    CONSTRAINT student_request_confirm_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_student_request_confirm_student_details_id UNIQUE (student_details_id),
+    CONSTRAINT fk_student_request_confirm_student_details
+        FOREIGN KEY (student_details_id) REFERENCES student_details (id)
+);
+
+-- Расписание
+CREATE TABLE lesson
+(
+    id               uuid NOT NULL,
+    date             date,
+    lesson_type      varchar(255),
+    classroom_id     uuid NOT NULL,
+    student_group_id uuid NOT NULL,
+    subject_id       uuid NOT NULL,
+    teacher_id       uuid NOT NULL,
+    timeslot_id      uuid NOT NULL,
+    CONSTRAINT lesson_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_lesson_classroom FOREIGN KEY (classroom_id) REFERENCES classroom (id),
+    CONSTRAINT fk_lesson_student_group FOREIGN KEY (student_group_id) REFERENCES student_group (id),
+    CONSTRAINT fk_lesson_subject FOREIGN KEY (subject_id) REFERENCES subject (id),
+    CONSTRAINT fk_lesson_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id),
+    CONSTRAINT fk_lesson_timeslot FOREIGN KEY (timeslot_id) REFERENCES timeslot (id)
+);
@@ -0,0 +1,27 @@
+-- Refresh-токены хранятся в виде хэшей, по одной сессии на устройство, а не в _user.
+CREATE TABLE refresh_session
+(
+    id         uuid        NOT NULL,
+    token_hash varchar(64) NOT NULL,
+    created_at timestamp   NOT NULL,
+    expires_at timestamp   NOT NULL,
+    user_id    uuid        NOT NULL,
+    CONSTRAINT refresh_session_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_session_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_session_user FOREIGN KEY (user_id) REFERENCES _user (id)
+);
+
+CREATE INDEX refresh_session_user_id_idx ON refresh_session (user_id);
+CREATE INDEX refresh_session_expires_at_idx ON refresh_session (expires_at);
+
+ALTER TABLE _user
+    DROP COLUMN IF EXISTS refresh_token;
+
+-- Не больше одной пары у преподавателя, в аудитории и у группы в один таймслот одной даты.
+-- Имена ограничений используются в LessonEntity для преобразования нарушений в ConflictException.
+ALTER TABLE lesson
+    ADD CONSTRAINT uk_lesson_date_timeslot_teacher UNIQUE (date, timeslot_id, teacher_id);
+ALTER TABLE lesson
+    ADD CONSTRAINT uk_lesson_date_timeslot_classroom UNIQUE (date, timeslot_id, classroom_id);
+ALTER TABLE lesson
+    ADD CONSTRAINT uk_lesson_date_timeslot_student_group UNIQUE (date, timeslot_id, student_group_id);
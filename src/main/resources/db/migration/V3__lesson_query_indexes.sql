@@ -0,0 +1,15 @@
+-- Индексы под запросы LessonRepository, LessonExportRepository и ReactiveLessonRepository.
+-- Расписание группы, преподавателя или аудитории: равенство по владельцу, диапазон дат и сортировка по дате.
+CREATE INDEX lesson_student_group_id_date_idx ON lesson (student_group_id, date);
+CREATE INDEX lesson_teacher_id_date_idx ON lesson (teacher_id, date);
+CREATE INDEX lesson_classroom_id_date_idx ON lesson (classroom_id, date);
+
+-- Поиск конфликтов (timeslot_id = ? and date in (...) and (teacher_id = ? or classroom_id = ? or
+-- student_group_id = ?)) и загрузка занятости по дате или диапазону дат используют уникальные
+-- ограничения (date, timeslot_id, ...) из V2, отдельные индексы для них не нужны.
+
+-- Вход по email и загрузка пользователя при проверке токена.
+CREATE INDEX user_email_idx ON _user (email);
+
+-- Загрузка должностей сотрудника (EAGER) и удаление сотрудника.
+CREATE INDEX employee_posts_employee_id_idx ON employee_posts (employee_id);
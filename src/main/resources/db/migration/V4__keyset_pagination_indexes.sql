@@ -0,0 +1,22 @@
+-- Индексы для постраничного вывода по ключу (KeysetPageRepository): условие на равенство,
+-- затем поле сортировки и id, чтобы страница читалась диапазоном индекса при любой глубине.
+
+-- Заявки: с фильтром по статусу и без него.
+CREATE INDEX student_request_confirm_is_closed_creation_date_id_idx
+    ON student_request_confirm (is_closed, creation_date, id);
+CREATE INDEX student_request_confirm_creation_date_id_idx
+    ON student_request_confirm (creation_date, id);
+
+CREATE INDEX employee_request_confirm_is_closed_creation_date_id_idx
+    ON employee_request_confirm (is_closed, creation_date, id);
+CREATE INDEX employee_request_confirm_creation_date_id_idx
+    ON employee_request_confirm (creation_date, id);
+
+CREATE INDEX scheduler_maker_request_confirm_is_closed_creation_date_id_idx
+    ON scheduler_maker_request_confirm (is_closed, creation_date, id);
+CREATE INDEX scheduler_maker_request_confirm_creation_date_id_idx
+    ON scheduler_maker_request_confirm (creation_date, id);
+
+-- Внешние пользователи (фильтр по роли) и студенты или сотрудники (соединение с _user по user_id).
+CREATE INDEX user_role_name_id_idx ON _user (role, name, id);
+CREATE INDEX user_name_id_idx ON _user (name, id);
@@ -0,0 +1,72 @@
+package ru.hits.timeflowapi;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Базовый класс тестов, которым нужен весь контекст приложения и настоящий PostgreSQL.
+ * <p>
+ * Сервер PostgreSQL запускается из бинарников {@code embedded-postgres} один раз на все тесты, Docker
+ * не нужен. Схема создаётся миграциями {@code Flyway} при старте контекста, как и в приложении.
+ * PostgreSQL не запускается от имени {@code root}, поэтому тесты нужно запускать от обычного пользователя.
+ * {@code MockMvc} и {@link TestData} настроены для всех наследников, чтобы они использовали один и тот же контекст.
+ */
+@SpringBootTest(properties = {
+        "logging.file.name=target/time-flow-api-test.log",
+        "password.bcrypt.strength=4",
+        "token.refresh.cleanup.delay-ms=86400000"
+})
+@AutoConfigureMockMvc
+@Import(TestData.class)
+public abstract class AbstractPostgresTest {
+
+    protected static final String DATABASE = "postgres";
+
+    protected static final String USERNAME = "postgres";
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", AbstractPostgresTest::jdbcUrl);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + POSTGRES.getPort() + "/" + DATABASE);
+        registry.add("spring.r2dbc.username", () -> USERNAME);
+        registry.add("spring.r2dbc.password", () -> "");
+    }
+
+    /**
+     * Метод для получения адреса тестовой БД, например для отдельных {@code JDBC} соединений.
+     *
+     * @return {@code JDBC} адрес тестовой БД.
+     */
+    protected static String jdbcUrl() {
+        return POSTGRES.getJdbcUrl(USERNAME, DATABASE);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // Процесс завершается, сервер будет остановлен вместе с ним.
+                }
+            }));
+
+            return postgres;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Не удалось запустить PostgreSQL для тестов", exception);
+        }
+    }
+
+}
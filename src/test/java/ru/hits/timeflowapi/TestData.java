@@ -0,0 +1,78 @@
+package ru.hits.timeflowapi;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import ru.hits.timeflowapi.entity.*;
+import ru.hits.timeflowapi.enumeration.LessonType;
+import ru.hits.timeflowapi.repository.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Создание сущностей для тестов. Уникальные поля заполняются так, чтобы тесты не мешали друг другу
+ * в общей БД.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger(ThreadLocalRandom.current().nextInt(1, 1_000_000));
+
+    private final SubjectRepository subjectRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final ClassroomRepository classroomRepository;
+    private final TeacherRepository teacherRepository;
+    private final StudentGroupRepository studentGroupRepository;
+    private final LessonRepository lessonRepository;
+
+    public SubjectEntity subject() {
+        return subjectRepository.save(SubjectEntity.builder().name("Предмет " + next()).build());
+    }
+
+    public TimeslotEntity timeslot() {
+        return timeslotRepository.save(TimeslotEntity.builder()
+                .sequenceNumber(next())
+                .beginTime("08:45")
+                .endTime("10:20")
+                .build());
+    }
+
+    public ClassroomEntity classroom() {
+        return classroomRepository.save(ClassroomEntity.builder().number(String.valueOf(next())).build());
+    }
+
+    public TeacherEntity teacher() {
+        return teacherRepository.save(TeacherEntity.builder()
+                .name("Иван")
+                .surname("Иванов " + next())
+                .patronymic("Иванович")
+                .build());
+    }
+
+    public StudentGroupEntity studentGroup() {
+        return studentGroupRepository.save(StudentGroupEntity.builder().number(next()).build());
+    }
+
+    public LessonEntity lesson(StudentGroupEntity studentGroup,
+                               TeacherEntity teacher,
+                               ClassroomEntity classroom,
+                               TimeslotEntity timeslot,
+                               LocalDate date) {
+        return lessonRepository.save(LessonEntity.builder()
+                .studentGroup(studentGroup)
+                .subject(subject())
+                .teacher(teacher)
+                .classroom(classroom)
+                .timeslot(timeslot)
+                .date(date)
+                .lessonType(LessonType.LECTURE)
+                .build());
+    }
+
+    private static int next() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+}
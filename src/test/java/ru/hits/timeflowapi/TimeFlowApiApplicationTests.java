@@ -0,0 +1,46 @@
+package ru.hits.timeflowapi;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import ru.hits.timeflowapi.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка, что контекст приложения поднимается целиком: и {@code JPA} с {@code Flyway}, и {@code R2DBC}.
+ */
+class TimeFlowApiApplicationTests extends AbstractPostgresTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void contextLoads() {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("4");
+        assertThat(userRepository.count()).isNotNegative();
+        assertThat(databaseClient.sql("select 1").map(row -> row.get(0, Integer.class)).one().block())
+                .isEqualTo(1);
+    }
+
+}
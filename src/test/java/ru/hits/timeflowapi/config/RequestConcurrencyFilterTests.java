@@ -0,0 +1,45 @@
+package ru.hits.timeflowapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyFilterTests {
+
+    private final RequestConcurrencyFilter filter = new RequestConcurrencyFilter(1, 0);
+
+    /**
+     * Асинхронный запрос занимает место, пока не завершится асинхронная обработка, даже если первый
+     * вызов фильтра уже вернулся.
+     */
+    @Test
+    void asyncRequestHoldsPermitUntilCompleted() throws Exception {
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest("GET", "/api/v1/sign-in");
+        asyncRequest.setAsyncSupported(true);
+
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertThat(perform()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        ((MockAsyncContext) asyncRequest.getAsyncContext()).complete();
+
+        assertThat(perform()).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private int perform() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, ignored) -> response.setStatus(HttpStatus.OK.value());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/lessons"), response, chain);
+
+        return response.getStatus();
+    }
+
+}
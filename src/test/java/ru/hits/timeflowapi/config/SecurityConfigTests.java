@@ -0,0 +1,57 @@
+package ru.hits.timeflowapi.config;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.enumeration.Role;
+import ru.hits.timeflowapi.security.JWTService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка, что списки пользователей и заявок доступны только администратору, в том числе
+ * постраничные по курсору.
+ */
+class SecurityConfigTests extends AbstractPostgresTest {
+
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/users",
+            "/api/v1/students",
+            "/api/v1/employees",
+            "/api/v1/users/cursor",
+            "/api/v1/students/cursor",
+            "/api/v1/employees/cursor",
+            "/api/v1/student-requests/cursor",
+            "/api/v1/employee-requests/cursor",
+            "/api/v1/schedule-maker-requests/cursor"
+    })
+    void adminListingsAreForbiddenForOtherRoles(String path) throws Exception {
+        for (Role role : Role.values()) {
+            mockMvc.perform(get(path).header("Authorization", bearer(role.name())))
+                    .andExpect(status().isForbidden());
+        }
+
+        mockMvc.perform(get(path).header("Authorization", bearer(ROLE_ADMIN)))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(String authority) {
+        return "Bearer " + jwtService.generateAccessToken(UUID.randomUUID(), List.of(authority));
+    }
+
+}
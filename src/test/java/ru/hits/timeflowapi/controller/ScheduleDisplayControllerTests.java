@@ -0,0 +1,63 @@
+package ru.hits.timeflowapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.DigestUtils;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.TestData;
+import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.service.LessonService;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка, что {@code ETag} расписания вычисляется по его содержимому и меняется вместе с ним.
+ */
+class ScheduleDisplayControllerTests extends AbstractPostgresTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2031, 9, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Test
+    void eTagIsDerivedFromTimetableContentAndChangesWithIt() throws Exception {
+        TeacherEntity teacher = testData.teacher();
+        LessonEntity lesson = testData.lesson(testData.studentGroup(), teacher, testData.classroom(),
+                testData.timeslot(), MONDAY.plusDays(2));
+        String url = "/api/v1/lessons/teacher/" + teacher.getId()
+                + "?startDate=" + MONDAY + "&endDate=" + MONDAY.plusDays(6);
+
+        MvcResult first = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isEqualTo("\"" + DigestUtils.md5DigestAsHex(first.getResponse().getContentAsByteArray()) + "\"");
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        lessonService.deleteLesson(lesson.getId());
+
+        MvcResult changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(changed.getResponse().getContentAsString()).doesNotContain(lesson.getId().toString());
+    }
+
+}
@@ -0,0 +1,124 @@
+package ru.hits.timeflowapi.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов горячих запросов. Для каждого запроса выполняется {@code EXPLAIN (FORMAT JSON)}
+ * и проверяется, что план использует ожидаемый индекс и не сканирует таблицу целиком. Ожидаемый индекс
+ * задаётся началом имени или альтернативой через {@code |}, если подходят несколько индексов.
+ * Последовательное сканирование на время проверки выключается ({@code enable_seqscan = off}),
+ * поэтому результат не зависит от объёма данных: если подходящий индекс есть, то планировщик
+ * его выберет даже на пустой таблице.
+ */
+class QueryPlanTests extends AbstractPostgresTest {
+
+    private static final String LESSON_SELECT = "select l.id from lesson l ";
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private static final LocalDate DATE = LocalDate.of(2023, 9, 4);
+
+    @Autowired
+    private DataSource dataSource;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("group timetable", "lesson_student_group_id_date_idx",
+                        LESSON_SELECT + "where l.student_group_id = ? and l.date between ? and ? order by l.date",
+                        new Object[]{ID, DATE, DATE.plusDays(6)}),
+                Arguments.of("teacher timetable", "lesson_teacher_id_date_idx",
+                        LESSON_SELECT + "where l.teacher_id = ? and l.date between ? and ? order by l.date",
+                        new Object[]{ID, DATE, DATE.plusDays(6)}),
+                Arguments.of("classroom timetable", "lesson_classroom_id_date_idx",
+                        LESSON_SELECT + "where l.classroom_id = ? and l.date between ? and ? order by l.date",
+                        new Object[]{ID, DATE, DATE.plusDays(6)}),
+                Arguments.of("conflicting slots", "uk_lesson_date_timeslot_",
+                        LESSON_SELECT + "where l.timeslot_id = ? and l.date in (?, ?, ?) "
+                                + "and (l.teacher_id = ? or l.classroom_id = ? or l.student_group_id = ?) "
+                                + "order by l.date",
+                        new Object[]{ID, DATE, DATE.plusDays(7), DATE.plusDays(14), ID, ID, ID}),
+                Arguments.of("slots by date", "uk_lesson_date_timeslot_",
+                        LESSON_SELECT + "where l.date = ?",
+                        new Object[]{DATE}),
+                Arguments.of("slots by date range", "uk_lesson_date_timeslot_",
+                        LESSON_SELECT + "where l.date between ? and ?",
+                        new Object[]{DATE, DATE.plusDays(6)}),
+                Arguments.of("busy teacher confirmation",
+                        "uk_lesson_date_timeslot_teacher|lesson_teacher_id_date_idx",
+                        LESSON_SELECT + "where l.date = ? and l.timeslot_id = ? and l.teacher_id = ? limit 1",
+                        new Object[]{DATE, ID, ID}),
+                Arguments.of("slot lesson count", "uk_lesson_date_timeslot_",
+                        "select count(l.id) from lesson l where l.date = ? and l.timeslot_id = ?",
+                        new Object[]{DATE, ID}),
+                Arguments.of("user by email", "user_email_idx",
+                        "select u.id from _user u where u.email = ?",
+                        new Object[]{"admin@gmail.com"}),
+                Arguments.of("refresh session", "uk_refresh_session_token_hash",
+                        "select s.id from refresh_session s where s.user_id = ? and s.token_hash = ?",
+                        new Object[]{ID, "0".repeat(64)}),
+                Arguments.of("expired refresh sessions", "refresh_session_expires_at_idx",
+                        "select s.id from refresh_session s where s.expires_at < now() limit 1000",
+                        new Object[]{}),
+                Arguments.of("student requests page", "student_request_confirm_is_closed_creation_date_id_idx",
+                        "select r.id from student_request_confirm r where r.is_closed = ? and r.creation_date >= ? "
+                                + "and (r.creation_date > ? or r.id > ?) order by r.creation_date, r.id limit 11",
+                        new Object[]{false, Timestamp.valueOf(DATE.atStartOfDay()),
+                                Timestamp.valueOf(DATE.atStartOfDay()), ID}),
+                Arguments.of("users page", "user_role_name_id_idx",
+                        "select u.id from _user u where u.role = ? and u.name >= ? "
+                                + "and (u.name > ? or u.id > ?) order by u.name, u.id limit 11",
+                        new Object[]{"ROLE_USER", "Иван", "Иван", ID})
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndex(String name, String expectedIndex, String sql, Object[] parameters) throws Exception {
+        String plan = explain(sql, parameters);
+
+        assertThat(plan)
+                .as("план запроса \"%s\"", name)
+                .containsPattern("\"Index Name\": \"(" + expectedIndex + ")")
+                .doesNotContain("\"Node Type\": \"Seq Scan\"");
+    }
+
+    private String explain(String sql, Object[] parameters) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local enable_seqscan = off");
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("explain (format json) " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+}
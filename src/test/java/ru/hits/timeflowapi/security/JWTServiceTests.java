@@ -0,0 +1,42 @@
+package ru.hits.timeflowapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.util.TokenHashes;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JWTServiceTests extends AbstractPostgresTest {
+
+    @Autowired
+    private JWTService jwtService;
+
+    /**
+     * Кэш проверенных {@code access} токенов хранит только их хеши, а не сами токены.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void verifiedAccessTokensAreCachedByHash() {
+        UUID userId = UUID.randomUUID();
+        String accessToken = jwtService.generateAccessToken(userId, List.of("ROLE_USER"));
+
+        AccessTokenClaims verified = jwtService.verifyAccessToken(accessToken);
+        AccessTokenClaims cached = jwtService.verifyAccessToken(accessToken);
+
+        Cache<String, ?> verifiedAccessTokens =
+                (Cache<String, ?>) ReflectionTestUtils.getField(jwtService, "verifiedAccessTokens");
+
+        assertThat(cached).isEqualTo(verified);
+        assertThat(cached.getId()).isEqualTo(userId);
+        assertThat(verifiedAccessTokens.asMap())
+                .containsKey(TokenHashes.sha256(accessToken))
+                .doesNotContainKey(accessToken);
+    }
+
+}
@@ -0,0 +1,181 @@
+package ru.hits.timeflowapi.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.TestData;
+import ru.hits.timeflowapi.dto.signup.EmployeeSignUpDto;
+import ru.hits.timeflowapi.dto.signup.StudentSignUpDto;
+import ru.hits.timeflowapi.dto.signup.UserSignUpDto;
+import ru.hits.timeflowapi.entity.EmployeeDetailsEntity;
+import ru.hits.timeflowapi.entity.EmployeePostEntity;
+import ru.hits.timeflowapi.enumeration.Sex;
+import ru.hits.timeflowapi.repository.EmployeeDetailsRepository;
+import ru.hits.timeflowapi.repository.EmployeePostRepository;
+import ru.hits.timeflowapi.service.auth.SignUpService;
+import ru.hits.timeflowapi.service.request.CreateRequestService;
+import ru.hits.timeflowapi.service.request.ManageRequestService;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка количества SQL-запросов на страницу списков администратора. Каждый список загружается
+ * страницами двух размеров: количество запросов должно быть одинаковым, то есть не зависеть от количества
+ * элементов на странице, и не больше ожидаемого. Считаются подготовленные {@code JDBC}-выражения
+ * по статистике {@code Hibernate}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AdminListingStatementCountTests extends AbstractPostgresTest {
+
+    private static final int SMALL_PAGE = 5;
+
+    private static final int LARGE_PAGE = 50;
+
+    private static final String PASSWORD = "Qwerty123";
+
+    private static final Sort.Direction ASC = Sort.Direction.ASC;
+
+    private static final Optional<Boolean> OPEN = Optional.of(false);
+
+    @Autowired
+    private UsersService usersService;
+
+    @Autowired
+    private ManageRequestService requestService;
+
+    @Autowired
+    private SignUpService signUpService;
+
+    @Autowired
+    private CreateRequestService createRequestService;
+
+    @Autowired
+    private EmployeeDetailsRepository employeeDetailsRepository;
+
+    @Autowired
+    private EmployeePostRepository employeePostRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    /**
+     * Метод, который заполняет каждый список так, чтобы в нём было больше элементов, чем {@link #LARGE_PAGE}.
+     * У каждого сотрудника есть должность, чтобы загрузка должностей тоже попадала в подсчёт.
+     */
+    @BeforeAll
+    void fillListings() {
+        UUID groupId = testData.studentGroup().getId();
+        String postRole = "ROLE_" + UUID.randomUUID();
+        EmployeePostEntity post = employeePostRepository.save(EmployeePostEntity.builder()
+                .postRole(postRole)
+                .postName(postRole)
+                .build());
+
+        for (int i = 0; i <= LARGE_PAGE; i++) {
+            signUpService.userSignUp(new UserSignUpDto(
+                    email(), "Иван", "Иванов", "Иванович", Sex.MALE, PASSWORD
+            )).join();
+            signUpService.studentSignUp(new StudentSignUpDto(
+                    email(), "Иван", "Иванов", "Иванович", Sex.MALE, PASSWORD, String.valueOf(i), groupId
+            )).join();
+
+            EmployeeDetailsEntity employee = signUpService.basicEmployeeSignUp(employee(), PASSWORD);
+            employee.setPosts(List.of(post));
+            createRequestService.createAndSaveEmployeeRequest(employeeDetailsRepository.save(employee));
+            createRequestService.createAndSaveScheduleMakerRequest(
+                    signUpService.basicEmployeeSignUp(employee(), PASSWORD)
+            );
+        }
+    }
+
+    Stream<Arguments> listings() {
+        return Stream.of(
+                // Страница со смещением: сама страница и count(*); для сотрудников ещё пачка должностей.
+                listing("users", 2, size -> usersService.getUsersPage(0, size, ASC)),
+                listing("students", 2, size -> usersService.getStudentsPage(0, size, ASC)),
+                listing("employees", 3, size -> usersService.getEmployeesPage(0, size, ASC)),
+                listing("student-requests", 2, size -> requestService.getStudentRequestsPage(0, size, ASC, OPEN)),
+                listing("employee-requests", 3, size -> requestService.getEmployeeRequestsPage(0, size, ASC, OPEN)),
+                listing("schedule-maker-requests", 3, size ->
+                        requestService.getScheduleMakerRequestsPage(0, size, ASC, OPEN)),
+
+                // Страница по курсору без общего количества.
+                listing("users/cursor", 1, size -> usersService.getUsersByCursor(null, size, ASC, false)),
+                listing("students/cursor", 1, size -> usersService.getStudentsByCursor(null, size, ASC, false)),
+                listing("employees/cursor", 2, size -> usersService.getEmployeesByCursor(null, size, ASC, false)),
+                listing("student-requests/cursor", 1, size ->
+                        requestService.getStudentRequestsByCursor(null, size, ASC, OPEN, false)),
+                listing("employee-requests/cursor", 2, size ->
+                        requestService.getEmployeeRequestsByCursor(null, size, ASC, OPEN, false)),
+                listing("schedule-maker-requests/cursor", 2, size ->
+                        requestService.getScheduleMakerRequestsByCursor(null, size, ASC, OPEN, false))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listings")
+    void statementCountDoesNotDependOnPageSize(String name, int maxStatements, PageLoader listing) {
+        long small = countStatements(listing, SMALL_PAGE);
+        long large = countStatements(listing, LARGE_PAGE);
+
+        assertThat(large).as("запросы на страницу из %d элементов", LARGE_PAGE).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(maxStatements);
+    }
+
+    /**
+     * Метод для подсчёта запросов на загрузку страницы. Страница загружается в одной сессии, как в
+     * веб-запросе с {@code spring.jpa.open-in-view}: должности сотрудников догружаются при преобразовании в dto.
+     */
+    private long countStatements(PageLoader listing, int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate session = new TransactionTemplate(transactionManager);
+        session.setReadOnly(true);
+
+        statistics.clear();
+        session.executeWithoutResult(status -> listing.load(pageSize));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static Arguments listing(String name, int maxStatements, PageLoader listing) {
+        return Arguments.of(name, maxStatements, listing);
+    }
+
+    private static String email() {
+        return UUID.randomUUID() + "@example.com";
+    }
+
+    private static EmployeeSignUpDto employee() {
+        return new EmployeeSignUpDto(email(), "Иван", "Иванов", "Иванович", Sex.MALE, PASSWORD,
+                UUID.randomUUID().toString());
+    }
+
+    @FunctionalInterface
+    private interface PageLoader {
+
+        void load(int pageSize);
+
+    }
+
+}
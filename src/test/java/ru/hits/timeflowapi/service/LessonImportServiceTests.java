@@ -0,0 +1,105 @@
+package ru.hits.timeflowapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.TestData;
+import ru.hits.timeflowapi.dto.lesson.CreateLessonDto;
+import ru.hits.timeflowapi.dto.lesson.importing.LessonImportReportDto;
+import ru.hits.timeflowapi.dto.lesson.importing.LessonImportRowResultDto;
+import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.entity.TimeslotEntity;
+import ru.hits.timeflowapi.enumeration.LessonImportStatus;
+import ru.hits.timeflowapi.enumeration.LessonType;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.service.helpingservices.LessonBatchWriter;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Проверка, что конфликт, найденный ограничениями БД при записи импорта, отклоняет только свою строку.
+ */
+class LessonImportServiceTests extends AbstractPostgresTest {
+
+    private static final LocalDate DATE = LocalDate.of(2032, 4, 5);
+
+    @Autowired
+    private LessonImportService lessonImportService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private LessonBatchWriter lessonBatchWriter;
+
+    @Test
+    void rowTakenConcurrentlyIsRejectedAndOthersAreImported() throws Exception {
+        TeacherEntity teacher = testData.teacher();
+        TimeslotEntity timeslot = testData.timeslot();
+        CreateLessonDto taken = row(teacher, timeslot);
+        CreateLessonDto free = row(testData.teacher(), timeslot);
+        AtomicBoolean firstWrite = new AtomicBoolean(true);
+        TransactionTemplate concurrentTransaction = new TransactionTemplate(transactionManager);
+        concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        doAnswer(invocation -> {
+            if (firstWrite.getAndSet(false)) {
+                // Другой экземпляр приложения занял преподавателя после загрузки снимка занятости.
+                concurrentTransaction.executeWithoutResult(status -> testData.lesson(
+                        testData.studentGroup(), teacher, testData.classroom(), timeslot, DATE
+                ));
+            }
+
+            return invocation.callRealMethod();
+        }).when(lessonBatchWriter).write(anyList());
+
+        LessonImportReportDto report = lessonImportService.importLessons(
+                new ByteArrayInputStream(objectMapper.writeValueAsBytes(List.of(taken, free)))
+        );
+
+        LessonImportRowResultDto rejected = report.getRows().get(0);
+        LessonImportRowResultDto imported = report.getRows().get(1);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(rejected.getStatus()).isEqualTo(LessonImportStatus.REJECTED);
+        assertThat(rejected.getErrors()).singleElement().asString()
+                .startsWith("Преподаватель с ID " + teacher.getId());
+        assertThat(imported.getStatus()).isEqualTo(LessonImportStatus.IMPORTED);
+        assertThat(lessonRepository.existsById(imported.getLessonId())).isTrue();
+    }
+
+    private CreateLessonDto row(TeacherEntity teacher, TimeslotEntity timeslot) {
+        return new CreateLessonDto(
+                testData.studentGroup().getId(),
+                testData.subject().getId(),
+                teacher.getId(),
+                testData.classroom().getId(),
+                timeslot.getId(),
+                DATE,
+                LessonType.LECTURE
+        );
+    }
+
+}
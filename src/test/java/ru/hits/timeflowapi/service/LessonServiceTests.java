@@ -0,0 +1,162 @@
+package ru.hits.timeflowapi.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.TestData;
+import ru.hits.timeflowapi.dto.lesson.CreateLessonDto;
+import ru.hits.timeflowapi.entity.ClassroomEntity;
+import ru.hits.timeflowapi.entity.StudentGroupEntity;
+import ru.hits.timeflowapi.entity.SubjectEntity;
+import ru.hits.timeflowapi.entity.TeacherEntity;
+import ru.hits.timeflowapi.entity.TimeslotEntity;
+import ru.hits.timeflowapi.enumeration.LessonType;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.exception.ConflictException;
+import ru.hits.timeflowapi.repository.LessonRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LessonServiceTests extends AbstractPostgresTest {
+
+    private static final int CONCURRENCY = 16;
+
+    private static final LocalDate DATE = LocalDate.of(2032, 5, 10);
+
+    private static final int TIMETABLE_LESSONS = 12;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Одновременные запросы занимают одних и тех же преподавателя и аудиторию в один таймслот для разных
+     * групп. Все они проходят проверку по индексу занятости, поэтому двойное бронирование должны
+     * остановить ограничения БД: успешен ровно один запрос, остальные получают {@link ConflictException}.
+     */
+    @Test
+    void concurrentLessonsInSameSlotAreBookedOnce() throws Exception {
+        SubjectEntity subject = testData.subject();
+        TeacherEntity teacher = testData.teacher();
+        ClassroomEntity classroom = testData.classroom();
+        TimeslotEntity timeslot = testData.timeslot();
+        List<UUID> studentGroupIds = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENCY; i++) {
+            studentGroupIds.add(testData.studentGroup().getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> requests = new ArrayList<>();
+
+        try {
+            for (UUID studentGroupId : studentGroupIds) {
+                CreateLessonDto lesson = new CreateLessonDto(studentGroupId, subject.getId(), teacher.getId(),
+                        classroom.getId(), timeslot.getId(), DATE, LessonType.LECTURE);
+
+                requests.add(executor.submit(() -> {
+                    start.await();
+                    return lessonService.addLesson(lesson);
+                }));
+            }
+
+            start.countDown();
+
+            int booked = 0;
+            int conflicts = 0;
+
+            for (Future<?> request : requests) {
+                try {
+                    request.get();
+                    booked++;
+                } catch (ExecutionException exception) {
+                    assertThat(exception.getCause()).isInstanceOf(ConflictException.class);
+                    conflicts++;
+                }
+            }
+
+            assertThat(booked).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(CONCURRENCY - 1);
+            assertThat(lessonRepository.findByTeacherIdAndDateIsBetweenOrderByDate(teacher.getId(), DATE, DATE))
+                    .hasSize(1);
+            assertThat(lessonRepository.findByClassroomIdAndDateIsBetweenOrderByDate(classroom.getId(), DATE, DATE))
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Расписание группы, преподавателя и аудитории загружается одним запросом вместе со всеми связанными
+     * сущностями, сколько бы в нём ни было пар и сколько бы разных сущностей они ни затрагивали.
+     */
+    @ParameterizedTest
+    @EnumSource(TimetableType.class)
+    void timetableIsLoadedWithOneStatement(TimetableType type) {
+        LocalDate monday = LocalDate.of(2032, 6, 7).plusWeeks(type.ordinal());
+
+        assertThat(countTimetableStatements(type, monday, 1)).isEqualTo(1);
+        assertThat(countTimetableStatements(type, monday, TIMETABLE_LESSONS)).isEqualTo(1);
+    }
+
+    /**
+     * Метод, который создаёт расписание из {@code lessonCount} пар у новой группы, преподавателя или
+     * аудитории и считает подготовленные {@code JDBC}-выражения при его загрузке. Остальные связанные
+     * сущности у каждой пары свои, чтобы их догрузка по одной была видна в количестве запросов. Кэш второго
+     * уровня перед загрузкой очищается: иначе сохранённые сущности находились бы в нём без запросов к БД.
+     */
+    private long countTimetableStatements(TimetableType type, LocalDate monday, int lessonCount) {
+        StudentGroupEntity studentGroup = testData.studentGroup();
+        TeacherEntity teacher = testData.teacher();
+        ClassroomEntity classroom = testData.classroom();
+
+        for (int i = 0; i < lessonCount; i++) {
+            testData.lesson(
+                    type == TimetableType.STUDENT_GROUP ? studentGroup : testData.studentGroup(),
+                    type == TimetableType.TEACHER ? teacher : testData.teacher(),
+                    type == TimetableType.CLASSROOM ? classroom : testData.classroom(),
+                    testData.timeslot(),
+                    monday.plusDays(i % 6)
+            );
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDate sunday = monday.plusDays(6);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        switch (type) {
+            case STUDENT_GROUP -> lessonService.getWeekLessonsByGroupId(studentGroup.getId(), monday, sunday);
+            case TEACHER -> lessonService.getWeekLessonsByTeacherId(teacher.getId(), monday, sunday);
+            case CLASSROOM -> lessonService.getWeekLessonsByClassroomId(classroom.getId(), monday, sunday);
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+
+}
@@ -0,0 +1,59 @@
+package ru.hits.timeflowapi.service.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.dto.signin.SignInDto;
+import ru.hits.timeflowapi.dto.signin.TokensDto;
+import ru.hits.timeflowapi.dto.signup.UserSignUpDto;
+import ru.hits.timeflowapi.enumeration.Sex;
+import ru.hits.timeflowapi.security.JWTService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Проверка, что после хэширования пароля работа с БД уходит с пула хэширования.
+ */
+class SignUpServiceTests extends AbstractPostgresTest {
+
+    private static final String PASSWORD = "Qwerty123";
+
+    @Autowired
+    private SignUpService signUpService;
+
+    @Autowired
+    private SignInService signInService;
+
+    @SpyBean
+    private JWTService jwtService;
+
+    @Test
+    void tokensAreNotGeneratedOnPasswordHashingThreads() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(jwtService).generateTokens(any(UUID.class));
+
+        String email = UUID.randomUUID() + "@example.com";
+        UserSignUpDto signUpDto = new UserSignUpDto(email, "Иван", "Иванов", "Иванович", Sex.MALE, PASSWORD);
+
+        TokensDto signUpTokens = signUpService.userSignUp(signUpDto).join();
+        TokensDto signInTokens = signInService.signIn(new SignInDto(email, PASSWORD), "127.0.0.1").join();
+
+        assertThat(signUpTokens.getAccessToken()).isNotBlank();
+        assertThat(signInTokens.getAccessToken()).isNotBlank();
+        assertThat(threads)
+                .hasSize(2)
+                .noneMatch(thread -> thread.startsWith("password-hashing-"));
+    }
+
+}
@@ -0,0 +1,128 @@
+package ru.hits.timeflowapi.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableCacheTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2023, 9, 4);
+
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    private final UUID teacherId = UUID.randomUUID();
+
+    private final LessonSlot lessonOnWednesday = new LessonSlot(
+            MONDAY.plusDays(2), UUID.randomUUID(), teacherId, UUID.randomUUID(), UUID.randomUUID()
+    );
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private TimetableVersions timetableVersions;
+
+    private TimetableCache timetableCache;
+
+    @BeforeEach
+    void setUp() {
+        timetableVersions = new TimetableVersions();
+        ReflectionTestUtils.setField(timetableVersions, "expireAfterAccessMin", 60L);
+        ReflectionTestUtils.invokeMethod(timetableVersions, "init");
+        timetableCache = new TimetableCache(new SimpleMeterRegistry(), timetableVersions, new ObjectMapper());
+        ReflectionTestUtils.setField(timetableCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(timetableCache, "ttlMin", 10L);
+        ReflectionTestUtils.invokeMethod(timetableCache, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadedTimetableIsCached() {
+        timetableCache.get(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY, () -> "timetable");
+
+        assertThat(timetableCache.<String>getIfPresent(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY))
+                .isEqualTo("timetable");
+    }
+
+    @Test
+    void loadRacingWithLessonChangeIsNotLeftInCache() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<CachedTimetable<String>> load = executor.submit(() ->
+                timetableCache.get(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY, () -> {
+                    loading.countDown();
+                    await(release);
+                    return "before change";
+                }));
+
+        loading.await();
+        timetableCache.evict(lessonOnWednesday);
+        release.countDown();
+
+        assertThat(load.get().getTimetable()).isEqualTo("before change");
+        assertThat(timetableCache.<String>getIfPresent(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY)).isNull();
+        assertThat(timetableCache.get(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY, () -> "after change")
+                .getTimetable()).isEqualTo("after change");
+    }
+
+    @Test
+    void snapshotRacingWithLessonChangeIsNotLeftInCache() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TimetableSnapshot before = new TimetableSnapshot(new byte[]{1}, new byte[]{1}, "\"1\"");
+
+        Future<TimetableSnapshot> load = executor.submit(() ->
+                timetableCache.getSnapshot(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY, () -> {
+                    loading.countDown();
+                    await(release);
+                    return before;
+                }));
+
+        loading.await();
+        timetableCache.evict(lessonOnWednesday);
+        release.countDown();
+
+        assertThat(load.get()).isSameAs(before);
+
+        TimetableSnapshot after = new TimetableSnapshot(new byte[]{2}, new byte[]{2}, "\"2\"");
+
+        assertThat(timetableCache.getSnapshot(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY, () -> after))
+                .isSameAs(after);
+    }
+
+    @Test
+    void putOfTimetableLoadedBeforeChangeIsDiscarded() {
+        long version = timetableVersions.getVersion(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY);
+
+        timetableCache.evict(lessonOnWednesday);
+        timetableCache.putIfUnchanged(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY, version, "before change");
+
+        assertThat(timetableCache.<String>getIfPresent(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY)).isNull();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package ru.hits.timeflowapi.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.hits.timeflowapi.enumeration.TimetableType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableVersionsTests {
+
+    private static final long EXPIRE_AFTER_ACCESS_MIN = 60;
+
+    private static final LocalDate MONDAY = LocalDate.of(2023, 9, 4);
+
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final UUID teacherId = UUID.randomUUID();
+
+    private TimetableVersions timetableVersions;
+
+    @BeforeEach
+    void setUp() {
+        timetableVersions = new TimetableVersions();
+        ReflectionTestUtils.setField(timetableVersions, "expireAfterAccessMin", EXPIRE_AFTER_ACCESS_MIN);
+        ReflectionTestUtils.setField(timetableVersions, "ticker", (Ticker) nanos::get);
+        ReflectionTestUtils.invokeMethod(timetableVersions, "init");
+    }
+
+    /**
+     * Версия, которую читают, не удаляется, сколько бы времени ни прошло с её изменения.
+     */
+    @Test
+    void readVersionIsKept() {
+        timetableVersions.increment(TimetableType.TEACHER, teacherId, MONDAY.plusDays(2));
+
+        for (int i = 0; i < 3; i++) {
+            advanceMinutes(EXPIRE_AFTER_ACCESS_MIN - 1);
+
+            assertThat(timetableVersions.getVersion(TimetableType.TEACHER, teacherId, MONDAY, SUNDAY)).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Версии недель, к которым долго не обращались, удаляются, поэтому их количество не растёт бесконечно
+     * после массовых изменений пар.
+     */
+    @Test
+    void unusedVersionsAreRemoved() {
+        for (int i = 0; i < 1000; i++) {
+            timetableVersions.increment(TimetableType.TEACHER, UUID.randomUUID(), MONDAY.plusWeeks(i % 20));
+        }
+
+        assertThat(versions().estimatedSize()).isEqualTo(1000);
+
+        advanceMinutes(EXPIRE_AFTER_ACCESS_MIN + 1);
+        versions().cleanUp();
+
+        assertThat(versions().estimatedSize()).isZero();
+    }
+
+    private void advanceMinutes(long minutes) {
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<?, Long> versions() {
+        return (Cache<?, Long>) ReflectionTestUtils.getField(timetableVersions, "versions");
+    }
+
+}
@@ -0,0 +1,74 @@
+package ru.hits.timeflowapi.service.helpingservices;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.hits.timeflowapi.AbstractPostgresTest;
+import ru.hits.timeflowapi.TestData;
+import ru.hits.timeflowapi.entity.LessonEntity;
+import ru.hits.timeflowapi.repository.LessonRepository;
+import ru.hits.timeflowapi.repository.projection.LessonSlot;
+import ru.hits.timeflowapi.service.LessonService;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка, что занятость из индекса сверяется с БД и не остаётся после удаления пары.
+ */
+class LessonOccupancyIndexTests extends AbstractPostgresTest {
+
+    @Autowired
+    private LessonOccupancyIndex lessonOccupancyIndex;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void lessonDeletedOnAnotherInstanceIsNotBusy() {
+        LessonEntity lesson = lesson(LocalDate.of(2032, 3, 1));
+        LessonSlot slot = LessonSlot.of(lesson);
+
+        assertThat(lessonOccupancyIndex.isTeacherBusy(slot.getDate(), slot.getTimeslotId(), slot.getTeacherId()))
+                .isTrue();
+
+        lessonRepository.deleteById(lesson.getId());
+
+        assertThat(lessonOccupancyIndex.isTeacherBusy(slot.getDate(), slot.getTimeslotId(), slot.getTeacherId()))
+                .isFalse();
+        assertThat(lessonOccupancyIndex.isClassroomBusy(slot.getDate(), slot.getTimeslotId(), slot.getClassroomId()))
+                .isFalse();
+        assertThat(lessonOccupancyIndex.getBusyStudentGroupIds(slot.getDate(), slot.getTimeslotId()))
+                .doesNotContain(slot.getStudentGroupId());
+    }
+
+    @Test
+    void lessonCountedTwiceIsReleasedByDeletion() {
+        LessonEntity lesson = lesson(LocalDate.of(2032, 3, 2));
+        LessonSlot slot = LessonSlot.of(lesson);
+
+        assertThat(lessonOccupancyIndex.getBusyClassroomIds(slot.getDate(), slot.getTimeslotId()))
+                .contains(slot.getClassroomId());
+
+        // Загрузка дня пересеклась с коммитом пары: пара учтена и при загрузке, и после коммита.
+        lessonOccupancyIndex.occupy(slot);
+        lessonService.deleteLesson(lesson.getId());
+
+        assertThat(lessonOccupancyIndex.getBusyClassroomIds(slot.getDate(), slot.getTimeslotId()))
+                .doesNotContain(slot.getClassroomId());
+        assertThat(lessonOccupancyIndex.isStudentGroupBusy(slot.getDate(), slot.getTimeslotId(), slot.getStudentGroupId()))
+                .isFalse();
+    }
+
+    private LessonEntity lesson(LocalDate date) {
+        return testData.lesson(testData.studentGroup(), testData.teacher(), testData.classroom(),
+                testData.timeslot(), date);
+    }
+
+}